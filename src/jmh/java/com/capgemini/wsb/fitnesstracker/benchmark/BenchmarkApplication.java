@@ -0,0 +1,97 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without the web server on a fresh in-memory database filled with a generated dataset.
+ * <p>
+ * The data is generated by an {@link ApplicationRunner}, i.e. before the application is ready,
+ * so the components initialized on {@code ApplicationReadyEvent} (like the user name index) see the whole dataset.
+ * Emails are discarded, so the benchmarks measure the application and not the mail server.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application with the given number of users, each with the given number of trainings.
+     *
+     * @param users            the number of users to generate
+     * @param trainingsPerUser the number of trainings to generate for every user
+     * @param properties       additional application properties, as {@code key=value}, overriding the configuration files
+     * @return the started application context, to be closed after the benchmark
+     */
+    static ConfigurableApplicationContext start(int users, int trainingsPerUser, String... properties) {
+        return new SpringApplicationBuilder(FitnessTracker.class, BenchmarkBeans.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN",
+                        "benchmark.users=" + users,
+                        "benchmark.trainings-per-user=" + trainingsPerUser)
+                .run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * Returns the IDs of the generated users, in ascending order.
+     */
+    static List<Long> userIds(ConfigurableApplicationContext context) {
+        return context.getBean(Dataset.class).userIds;
+    }
+
+    /**
+     * The generated dataset.
+     */
+    static class Dataset {
+
+        private volatile List<Long> userIds = List.of();
+    }
+
+    /**
+     * Beans replacing or extending the application ones for the benchmarks.
+     * Not annotated as a configuration, so it is not picked up by the component scan of the tests.
+     */
+    static class BenchmarkBeans {
+
+        @Bean
+        Dataset benchmarkDataset() {
+            return new Dataset();
+        }
+
+        @Bean
+        ApplicationRunner benchmarkDataGenerator(JdbcTemplate jdbcTemplate, StatisticsService statisticsService,
+                                                 RollupService rollupService, Environment environment, Dataset dataset) {
+            return args -> {
+                int users = environment.getRequiredProperty("benchmark.users", Integer.class);
+                int trainingsPerUser = environment.getRequiredProperty("benchmark.trainings-per-user", Integer.class);
+                dataset.userIds = BenchmarkDataGenerator.generate(jdbcTemplate, users, trainingsPerUser);
+                statisticsService.updateStatisticsForAllUsers();
+                rollupService.rebuildRollups();
+            };
+        }
+
+        @Bean
+        @Primary
+        EmailSender discardingEmailSender() {
+            return email -> {
+            };
+        }
+    }
+}
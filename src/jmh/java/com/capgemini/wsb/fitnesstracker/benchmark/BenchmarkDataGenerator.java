@@ -0,0 +1,97 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a benchmark dataset shaped like the one of {@code InitialDataLoader}, scaled to the requested size.
+ * <p>
+ * The rows are written with batched JDBC inserts, so that even 10^7 trainings are generated in minutes.
+ * The data is generated from a fixed seed, so every run works on the same dataset.
+ */
+final class BenchmarkDataGenerator {
+
+    static final String[] FIRST_NAMES = {"Emma", "Ethan", "Olivia", "Liam", "Ava", "Noah", "Isabella", "James", "Sophia", "Mason"};
+    static final String[] LAST_NAMES = {"Johnson", "Taylor", "Davis", "Wilson", "Brown", "Jones", "Miller", "Moore", "Anderson", "Thomas"};
+    static final LocalDateTime FIRST_TRAINING = LocalDateTime.of(2023, 1, 1, 6, 0);
+    static final int TRAINING_DAYS = 730;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long SEED = 42;
+
+    private BenchmarkDataGenerator() {
+    }
+
+    /**
+     * Inserts the given number of users, each with the given number of trainings.
+     *
+     * @param jdbcTemplate     the template to insert the rows with
+     * @param users            the number of users
+     * @param trainingsPerUser the number of trainings of every user
+     * @return the IDs of the inserted users, in ascending order
+     */
+    static List<Long> generate(JdbcTemplate jdbcTemplate, int users, int trainingsPerUser) {
+        Random random = new Random(SEED);
+
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 55))),
+                    email(i)});
+            if (userRows.size() == BATCH_SIZE) {
+                insertUsers(jdbcTemplate, userRows);
+            }
+        }
+        insertUsers(jdbcTemplate, userRows);
+
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        ActivityType[] activityTypes = ActivityType.values();
+        List<Object[]> trainingRows = new ArrayList<>(BATCH_SIZE);
+        for (Long userId : userIds) {
+            for (int i = 0; i < trainingsPerUser; i++) {
+                LocalDateTime startTime = FIRST_TRAINING.plusMinutes(random.nextInt(TRAINING_DAYS * 24 * 60));
+                double distance = 1 + random.nextInt(200) / 10.0;
+                trainingRows.add(new Object[]{
+                        userId,
+                        Timestamp.valueOf(startTime),
+                        Timestamp.valueOf(startTime.plusMinutes(20 + random.nextInt(100))),
+                        activityTypes[random.nextInt(activityTypes.length)].ordinal(),
+                        distance,
+                        5 + random.nextInt(250) / 10.0});
+                if (trainingRows.size() == BATCH_SIZE) {
+                    insertTrainings(jdbcTemplate, trainingRows);
+                }
+            }
+        }
+        insertTrainings(jdbcTemplate, trainingRows);
+        return userIds;
+    }
+
+    /**
+     * Returns the email of the user generated as the {@code index}-th one.
+     */
+    static String email(int index) {
+        return "user" + index + "@benchmark.fitnesstracker.com";
+    }
+
+    private static void insertUsers(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, first_name, last_name, birthdate, email) VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static void insertTrainings(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed) "
+                + "VALUES (NEXT VALUE FOR trainings_seq, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
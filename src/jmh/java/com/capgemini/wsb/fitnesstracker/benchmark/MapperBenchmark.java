@@ -0,0 +1,70 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Calories;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingMapper;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory benchmarks of the entity to DTO pipelines of the controllers and of the calories calculation,
+ * without a database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int trainings;
+
+    private final TrainingMapper trainingMapper = new TrainingMapper(new UserMapper());
+
+    private List<Training> trainingList;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ActivityType[] activityTypes = ActivityType.values();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            User user = new User("First" + i, "Last" + i, LocalDate.of(1990, 1, 1), BenchmarkDataGenerator.email(i));
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+        trainingList = new ArrayList<>(trainings);
+        for (int i = 0; i < trainings; i++) {
+            Training training = new Training(users.get(i % users.size()), new Date(), new Date(),
+                    activityTypes[random.nextInt(activityTypes.length)], random.nextDouble() * 20, random.nextDouble() * 15);
+            training.setId((long) i + 1);
+            trainingList.add(training);
+        }
+    }
+
+    @Benchmark
+    public List<TrainingDto> trainingsToDtos() {
+        return trainingList.stream().map(trainingMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public double caloriesBurned() {
+        double calories = 0;
+        for (Training training : trainingList) {
+            calories += Calories.burned(training);
+        }
+        return calories;
+    }
+}
@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.report.api.ReportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the generation of the monthly reports of all users, with the emails discarded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    private static final int TRAININGS_PER_USER = 20;
+
+    @Param({"10000", "100000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(users, TRAININGS_PER_USER);
+        reportService = context.getBean(ReportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void generateMonthlyReport() {
+        reportService.generateMonthlyReport(6, 2023);
+    }
+}
@@ -0,0 +1,74 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupDto;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupPeriod;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the monthly aggregates of a user over the whole generated history served from the daily rollups
+ * with the same aggregates computed from the trainings, for growing numbers of trainings per user.
+ * The rollups hold at most one row per day and activity type, so their latency stays flat once every day
+ * has trainings, while the aggregate over the trainings grows with the history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RollupBenchmark {
+
+    private static final int USERS = 10;
+    private static final LocalDate FROM = BenchmarkDataGenerator.FIRST_TRAINING.toLocalDate();
+    private static final LocalDate TO = FROM.plusDays(BenchmarkDataGenerator.TRAINING_DAYS);
+
+    @Param({"1000", "10000", "100000"})
+    private int trainingsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private RollupProvider rollupProvider;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(USERS, trainingsPerUser);
+        rollupProvider = context.getBean(RollupProvider.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userIds = BenchmarkApplication.userIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RollupDto> monthlyFromRollups() {
+        return rollupProvider.getRollups(randomUserId(), RollupPeriod.MONTH, FROM, TO, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> monthlyFromTrainings() {
+        return jdbcTemplate.queryForList("""
+                SELECT DATE_TRUNC('MONTH', CAST(start_time AS DATE)) AS period_start, COUNT(*), SUM(distance)
+                FROM trainings
+                WHERE user_id = ? AND CAST(start_time AS DATE) BETWEEN ? AND ?
+                GROUP BY period_start
+                ORDER BY period_start
+                """, randomUserId(), FROM, TO);
+    }
+
+    private Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
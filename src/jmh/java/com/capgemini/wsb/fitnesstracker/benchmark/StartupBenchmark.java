@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the startup of the application on an empty database with the schema created by the Flyway migrations,
+ * with and without the validation of the entities against it by Hibernate, and with the schema generated
+ * by Hibernate from the entities, as before the migrations.
+ * Every invocation starts a fresh application context on its own in-memory database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"flyway", "flyway-validate", "hibernate"})
+    private String schema;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = switch (schema) {
+            case "flyway" -> BenchmarkApplication.start(0, 0, "spring.jpa.hibernate.ddl-auto=none");
+            case "flyway-validate" -> BenchmarkApplication.start(0, 0, "spring.jpa.hibernate.ddl-auto=validate");
+            default -> BenchmarkApplication.start(0, 0, "spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create");
+        };
+        return context;
+    }
+}
@@ -0,0 +1,63 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the incremental statistics update applied on every training write with the full recompute
+ * of the statistics of a user and of all users, for users with many trainings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    private static final int USERS = 10;
+
+    @Param({"10000", "100000"})
+    private int trainingsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private StatisticsService statisticsService;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(USERS, trainingsPerUser);
+        statisticsService = context.getBean(StatisticsService.class);
+        userIds = BenchmarkApplication.userIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void applyDelta() {
+        statisticsService.addToStatistics(randomUserId(), 0, 0.0, 0);
+    }
+
+    @Benchmark
+    public void recomputeUser() {
+        statisticsService.updateStatisticsForUser(randomUserId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int recomputeAllUsers() {
+        return statisticsService.updateStatisticsForAllUsers();
+    }
+
+    private Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the training ingest and of the trainings lookups of a user between the in-memory
+ * database and the file database of the {@code persistent} profile, on a generated dataset of 1000 users.
+ * The file database is created in a temporary directory, deleted after the trial. Larger datasets can be generated
+ * with {@code -p trainingsPerUser=1000}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int TRAININGS = 1000;
+
+    @Param({"memory", "file"})
+    private String storage;
+
+    @Param({"100"})
+    private int trainingsPerUser;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TrainingProvider trainingProvider;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (storage.equals("file")) {
+            directory = Files.createTempDirectory("fitnesstracker-benchmark");
+            context = BenchmarkApplication.start(USERS, trainingsPerUser,
+                    "spring.profiles.active=persistent", "storage.directory=" + directory);
+        } else {
+            context = BenchmarkApplication.start(USERS, trainingsPerUser);
+        }
+        trainingProvider = context.getBean(TrainingProvider.class);
+        users = context.getBean(UserRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRAININGS)
+    public List<Training> ingestBatch() {
+        List<Training> trainings = new ArrayList<>(TRAININGS);
+        for (int i = 0; i < TRAININGS; i++) {
+            trainings.add(randomTraining());
+        }
+        return trainingProvider.createTrainings(trainings);
+    }
+
+    @Benchmark
+    public List<TrainingDto> trainingsOfUser() {
+        return trainingProvider.getTrainingDtosByUserId(randomUser().getId());
+    }
+
+    private Training randomTraining() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long startTime = System.currentTimeMillis() - random.nextLong(TimeUnit.DAYS.toMillis(365));
+        return new Training(
+                randomUser(),
+                new Date(startTime),
+                new Date(startTime + TimeUnit.MINUTES.toMillis(20 + random.nextInt(100))),
+                ActivityType.values()[random.nextInt(3)],
+                1 + random.nextInt(200) / 10.0,
+                5 + random.nextInt(250) / 10.0);
+    }
+
+    private User randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+}
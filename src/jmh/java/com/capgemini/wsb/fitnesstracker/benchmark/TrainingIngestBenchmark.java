@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the number of trainings inserted per second when created one by one, each in its own transaction,
+ * and when created as a single batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrainingIngestBenchmark {
+
+    private static final int USERS = 100;
+    private static final int TRAININGS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private TrainingProvider trainingProvider;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(USERS, 0);
+        trainingProvider = context.getBean(TrainingProvider.class);
+        users = context.getBean(UserRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRAININGS)
+    public void createOneByOne() {
+        for (int i = 0; i < TRAININGS; i++) {
+            trainingProvider.createTraining(randomTraining());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRAININGS)
+    public List<Training> createBatch() {
+        List<Training> trainings = new ArrayList<>(TRAININGS);
+        for (int i = 0; i < TRAININGS; i++) {
+            trainings.add(randomTraining());
+        }
+        return trainingProvider.createTrainings(trainings);
+    }
+
+    private Training randomTraining() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long startTime = System.currentTimeMillis() - random.nextLong(TimeUnit.DAYS.toMillis(365));
+        return new Training(
+                users.get(random.nextInt(users.size())),
+                new Date(startTime),
+                new Date(startTime + TimeUnit.MINUTES.toMillis(20 + random.nextInt(100))),
+                ActivityType.values()[random.nextInt(3)],
+                1 + random.nextInt(200) / 10.0,
+                5 + random.nextInt(250) / 10.0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingController;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the training listings, from the repository through the mapping to DTOs, on a generated dataset
+ * of 100 trainings per user. The controllers are called directly, without HTTP.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrainingListingBenchmark {
+
+    private static final int TRAININGS_PER_USER = 100;
+
+    /**
+     * Total number of trainings, up to 10^7 with {@code -p trainings=10000000}.
+     */
+    @Param({"10000", "1000000"})
+    private int trainings;
+
+    private ConfigurableApplicationContext context;
+    private TrainingController trainingController;
+    private TrainingProvider trainingProvider;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Math.max(trainings / TRAININGS_PER_USER, 1), TRAININGS_PER_USER);
+        trainingController = context.getBean(TrainingController.class);
+        trainingProvider = context.getBean(TrainingProvider.class);
+        userIds = BenchmarkApplication.userIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TrainingDto>> keysetPage() {
+        long lastId = ThreadLocalRandom.current().nextLong(trainings);
+        return trainingController.getAllTrainings(Pagination.encodeCursor(lastId), 100, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TrainingDto>> offsetPage() {
+        return trainingController.getAllTrainings(null, 100, ThreadLocalRandom.current().nextInt(trainings / 100));
+    }
+
+    @Benchmark
+    public List<TrainingDto> trainingsByUser() {
+        return trainingController.getTrainingsByUser(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<TrainingDto> trainingsByActivityType() {
+        return trainingController.getTrainingsByActivityType(ActivityType.SWIMMING);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportAllTrainings(Blackhole blackhole) {
+        trainingProvider.forEachTraining(blackhole::consume);
+    }
+}
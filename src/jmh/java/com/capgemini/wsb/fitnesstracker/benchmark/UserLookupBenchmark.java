@@ -0,0 +1,76 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the user lookups of {@link UserProvider} on a generated dataset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    @Param({"10000", "100000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserProvider userProvider;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(users, 1);
+        userProvider = context.getBean(UserProvider.class);
+        userIds = BenchmarkApplication.userIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> getUserById() {
+        return userProvider.getUser(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())));
+    }
+
+    @Benchmark
+    public Optional<User> getUserByEmail() {
+        return userProvider.getUserByEmail(BenchmarkDataGenerator.email(ThreadLocalRandom.current().nextInt(users)).toUpperCase());
+    }
+
+    @Benchmark
+    public Page<User> searchUsersByNameSurname() {
+        return userProvider.searchUsersByNameSurname("emm", "john", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<User> findUsersAgedBetween() {
+        return userProvider.findUsersAgedBetween(30, 39, PageRequest.of(0, 100));
+    }
+
+    @Benchmark
+    public List<User> findUsersOlderThan() {
+        return userProvider.findUsersOlderThan(LocalDate.of(1955, 1, 1));
+    }
+
+    @Benchmark
+    public Slice<User> findUsersAfter() {
+        return userProvider.findUsersAfter(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())), 100);
+    }
+}
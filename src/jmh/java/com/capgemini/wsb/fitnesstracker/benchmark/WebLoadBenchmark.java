@@ -0,0 +1,71 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the web tier: 400 concurrent clients, twice the size of the Tomcat thread pool, list the trainings
+ * of random users over HTTP, with the requests served by platform threads or by virtual threads.
+ * Run in sample time mode to also get the latency percentiles, e.g. the p99, besides the throughput.
+ * The virtual threads need Java 21 or newer; on older versions the {@code virtual} trial fails at setup, so run
+ * the benchmark profile with {@code JAVA_HOME} pointing to a Java 21 JDK. The build itself still targets Java 17.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+@Threads(400)
+@State(Scope.Benchmark)
+public class WebLoadBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int TRAININGS_PER_USER = 20;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (threads.equals("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, running on " + Runtime.version());
+        }
+        context = BenchmarkApplication.start(USERS, TRAININGS_PER_USER,
+                "spring.main.web-application-type=servlet",
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + threads.equals("virtual"));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+        userIds = BenchmarkApplication.userIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String trainingsOfUser() throws IOException, InterruptedException {
+        Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/trainings/" + userId)).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for user " + userId);
+        }
+        return response.body();
+    }
+}
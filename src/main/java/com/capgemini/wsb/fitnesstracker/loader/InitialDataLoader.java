@@ -1,156 +1,164 @@
 package com.capgemini.wsb.fitnesstracker.loader;
 
-import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
-import com.capgemini.wsb.fitnesstracker.user.api.User;
-import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
-import lombok.ToString;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-
-import static java.time.LocalDate.now;
-import static java.util.Objects.isNull;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Sample init data loader. If the application is run with `loadInitialData` profile,
  * then on application startup it will fill the database with dummy data,
- * for the manual testing purposes.
+ * for the manual and load testing purposes.
  * Loader is triggered by {@link ContextRefreshedEvent } event
+ * <p>
+ * The amount and shape of the data is configured by {@link LoaderProperties}. The rows are written with batched
+ * JDBC inserts, users and their trainings a batch of users at a time, and the statistics and the daily rollups of
+ * all users are computed afterwards with set-based statements, so a million trainings are loaded in well under a minute.
+ * The IDs are drawn from the same sequences as the ones of the entities, each row taking a whole block of IDs,
+ * so they never collide with the IDs allocated by Hibernate.
  */
 @Component
 @Profile("loadInitialData")
+@EnableConfigurationProperties(LoaderProperties.class)
+@RequiredArgsConstructor
 @Slf4j
-@ToString
 public class InitialDataLoader {
 
-    @Autowired
-    private JpaRepository<User, Long> userRepository;
+    private static final String[] FIRST_NAMES = {"Emma", "Ethan", "Olivia", "Daniel", "Sophia", "Liam", "Ava", "Noah", "Grace", "Oliver"};
+    private static final String[] LAST_NAMES = {"Johnson", "Taylor", "Davis", "Thomas", "Baker", "Jones", "Williams", "Miller", "Anderson", "Swift"};
+    private static final int MIN_DURATION_MINUTES = 20;
+    private static final int MAX_DURATION_MINUTES = 120;
 
-    @Autowired
-    private JpaRepository<Training, Long> trainingRepository;
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, first_name, last_name, birthdate, email) VALUES (NEXT VALUE FOR users_seq, ?, ?, ?, ?)";
+    private static final String INSERT_TRAINING =
+            "INSERT INTO trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed) "
+            + "VALUES (NEXT VALUE FOR trainings_seq, ?, ?, ?, ?, ?, ?)";
 
-    @Autowired
-    private JpaRepository<Statistics, Long> statisticsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StatisticsService statisticsService;
+    private final RollupService rollupService;
+    private final LoaderProperties loaderProperties;
 
     @EventListener
-    @Transactional
     public void loadInitialData(ContextRefreshedEvent event) {
-        verifyDependenciesAutowired();
-        log.info("Loading initial data to the database");
-        List<User> sampleUserList = generateSampleUsers();
-        List<Training> sampleTrainingList = generateTrainingData(sampleUserList);
-        generateAndSaveStatistics(sampleUserList);
-        log.info("Finished loading initial data");
-    }
-
-    private User generateUser(String name, String lastName, int age) {
-        User user = new User(name,
-                lastName,
-                now().minusYears(age),
-                "%s.%s@domain.com".formatted(name, lastName));
-        return userRepository.save(user);
-    }
-
-    private List<User> generateSampleUsers() {
-        List<User> users = new ArrayList<>();
-
-        users.add(generateUser("Emma", "Johnson", 28));
-        users.add(generateUser("Ethan", "Taylor", 51));
-        users.add(generateUser("Olivia", "Davis", 76));
-        users.add(generateUser("Daniel", "Thomas", 34));
-        users.add(generateUser("Sophia", "Baker", 49));
-        users.add(generateUser("Liam", "Jones", 23));
-        users.add(generateUser("Ava", "Williams", 21));
-        users.add(generateUser("Noah", "Miller", 39));
-        users.add(generateUser("Grace", "Anderson", 33));
-        users.add(generateUser("Oliver", "Swift", 29));
-
-        return users;
-    }
-
-    private List<Training> generateTrainingData(List<User> users) {
-        List<Training> trainingData = new ArrayList<>();
-
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-
-            trainingData.add(createTraining(users.get(0), sdf, "2024-01-19 08:00:00", "2024-01-19 09:30:00", ActivityType.RUNNING, 10.5, 8.2));
-            trainingData.add(createTraining(users.get(1), sdf, "2024-01-18 15:30:00", "2024-01-18 17:00:00", ActivityType.CYCLING, 25.0, 18.5));
-            trainingData.add(createTraining(users.get(2), sdf, "2024-01-17 07:45:00", "2024-01-17 09:00:00", ActivityType.WALKING, 5.2, 5.8));
-            trainingData.add(createTraining(users.get(3), sdf, "2024-01-16 18:00:00", "2024-01-16 19:30:00", ActivityType.RUNNING, 12.3, 9.0));
-            trainingData.add(createTraining(users.get(4), sdf, "2024-01-15 12:30:00", "2024-01-15 13:45:00", ActivityType.CYCLING, 18.7, 15.3));
-            trainingData.add(createTraining(users.get(5), sdf, "2024-01-14 09:00:00", "2024-01-14 10:15:00", ActivityType.WALKING, 3.5, 4.0));
-            trainingData.add(createTraining(users.get(6), sdf, "2024-01-13 16:45:00", "2024-01-13 18:30:00", ActivityType.RUNNING, 15.0, 10.8));
-            trainingData.add(createTraining(users.get(7), sdf, "2024-01-12 11:30:00", "2024-01-12 12:45:00", ActivityType.CYCLING, 22.5, 17.2));
-            trainingData.add(createTraining(users.get(8), sdf, "2024-01-11 07:15:00", "2024-01-11 08:30:00", ActivityType.WALKING, 4.2, 4.5));
-            trainingData.add(createTraining(users.get(9), sdf, "2024-01-10 14:00:00", "2024-01-10 15:15:00", ActivityType.RUNNING, 11.8, 8.5));
+        ActivityType[] activityTypes = activityTypes();
+        long minutesInRange = ChronoUnit.MINUTES.between(loaderProperties.getFrom().atStartOfDay(), loaderProperties.getTo().atStartOfDay());
+        if (minutesInRange <= 0) {
+            throw new IllegalStateException("Initial data date range is empty: " + loaderProperties.getFrom() + " - " + loaderProperties.getTo());
+        }
+        if (loaderProperties.isSkipIfNotEmpty() && jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class) > 0) {
+            log.info("Skipping the initial data, the database already holds users");
+            return;
+        }
 
-            trainingData.forEach(trainingRepository::save);
-        } catch (ParseException e) {
-            log.error("Error parsing date", e);
+        log.info("Loading initial data to the database: {} users with {} trainings each",
+                loaderProperties.getUsers(), loaderProperties.getTrainingsPerUser());
+        long startNanos = System.nanoTime();
+        Random random = new Random(loaderProperties.getSeed());
+        int batchSize = loaderProperties.getBatchSize();
+        long lastUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+
+        for (int generated = 0; generated < loaderProperties.getUsers(); generated += batchSize) {
+            int count = Math.min(batchSize, loaderProperties.getUsers() - generated);
+            insertUsers(generated, count, random);
+            List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id", Long.class, lastUserId);
+            insertTrainings(userIds, activityTypes, minutesInRange, random);
+            lastUserId = userIds.get(userIds.size() - 1);
         }
+        statisticsService.updateStatisticsForAllUsers();
+        rollupService.rebuildRollups();
 
-        return trainingData;
+        log.info("Finished loading initial data in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
     }
 
-    private Training createTraining(User user, SimpleDateFormat sdf, String startDate, String endDate, ActivityType activityType, double distance, double averageSpeed) throws ParseException {
-        return new Training(user,
-                sdf.parse(startDate),
-                sdf.parse(endDate),
-                activityType,
-                distance,
-                averageSpeed);
+    private void insertUsers(int firstIndex, int count, Random random) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int index = firstIndex; index < firstIndex + count; index++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[]{
+                    firstName,
+                    lastName,
+                    Date.valueOf(LocalDate.now().minusYears(18 + random.nextInt(60)).minusDays(random.nextInt(365))),
+                    "%s.%s.%d@domain.com".formatted(firstName, lastName, index).toLowerCase()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, rows);
     }
 
-    private void generateAndSaveStatistics(List<User> users) {
-        for (User user : users) {
-            List<Training> userTrainings = trainingRepository.findAll();
-
-            double totalDistance = 0;
-            int totalCaloriesBurned = 0;
-            int trainingCount = 0;
-
-            for (Training training : userTrainings) {
-                if (training.getUser().equals(user)) {
-                    totalDistance += training.getDistance();
-                    totalCaloriesBurned += calculateCaloriesBurned(training.getDistance());
-                    trainingCount++;
+    private void insertTrainings(List<Long> userIds, ActivityType[] activityTypes, long minutesInRange, Random random) {
+        LocalDateTime rangeStart = loaderProperties.getFrom().atStartOfDay();
+        List<Object[]> rows = new ArrayList<>(loaderProperties.getBatchSize());
+        for (Long userId : userIds) {
+            for (int i = 0; i < loaderProperties.getTrainingsPerUser(); i++) {
+                ActivityType activityType = activityTypes[random.nextInt(activityTypes.length)];
+                LocalDateTime startTime = rangeStart.plusMinutes(random.nextLong(minutesInRange));
+                int durationMinutes = MIN_DURATION_MINUTES + random.nextInt(MAX_DURATION_MINUTES - MIN_DURATION_MINUTES + 1);
+                double averageSpeed = round(averageSpeed(activityType, random));
+                rows.add(new Object[]{
+                        userId,
+                        Timestamp.valueOf(startTime),
+                        Timestamp.valueOf(startTime.plusMinutes(durationMinutes)),
+                        activityType.ordinal(),
+                        round(averageSpeed * durationMinutes / 60),
+                        averageSpeed});
+                if (rows.size() == loaderProperties.getBatchSize()) {
+                    jdbcTemplate.batchUpdate(INSERT_TRAINING, rows);
+                    rows.clear();
                 }
             }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TRAINING, rows);
+        }
+    }
 
-            if (trainingCount > 0) {
-                Statistics statistics = new Statistics(
-                        user,
-                        trainingCount,
-                        totalDistance,
-                        totalCaloriesBurned
-                );
-
-                statisticsRepository.save(statistics);
+    /**
+     * Expands the configured activity mix into an array in which every activity type occurs as many times
+     * as its weight, so that a uniformly drawn element follows the mix.
+     */
+    private ActivityType[] activityTypes() {
+        List<ActivityType> activityTypes = new ArrayList<>();
+        for (Map.Entry<ActivityType, Integer> weight : loaderProperties.getActivityMix().entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++) {
+                activityTypes.add(weight.getKey());
             }
         }
+        if (activityTypes.isEmpty()) {
+            throw new IllegalStateException("Initial data activity mix has no positive weight: " + loaderProperties.getActivityMix());
+        }
+        return activityTypes.toArray(ActivityType[]::new);
     }
 
-    private int calculateCaloriesBurned(double distance) {
-        // @TODO adjust if needed
-        int multiplier = 50;
-        return (int) (distance * multiplier);
+    private static double averageSpeed(ActivityType activityType, Random random) {
+        return switch (activityType) {
+            case RUNNING -> 8 + random.nextDouble() * 6;
+            case CYCLING -> 15 + random.nextDouble() * 15;
+            case WALKING -> 4 + random.nextDouble() * 2;
+            case SWIMMING -> 2 + random.nextDouble() * 2;
+            case TENNIS -> 5 + random.nextDouble() * 5;
+        };
     }
 
-    private void verifyDependenciesAutowired() {
-        if (isNull(userRepository) || isNull(trainingRepository) || isNull(statisticsRepository)) {
-            throw new IllegalStateException("Initial data loader was not autowired correctly " + this);
-        }
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
     }
 }
@@ -0,0 +1,62 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of the dummy data generated by the {@link InitialDataLoader}.
+ */
+@ConfigurationProperties(prefix = "loader")
+@Getter
+@Setter
+public class LoaderProperties {
+
+    /**
+     * Number of generated users.
+     */
+    private int users = 10;
+
+    /**
+     * Number of trainings generated for every user.
+     */
+    private int trainingsPerUser = 10;
+
+    /**
+     * Relative weights of the activity types of the generated trainings; types without a weight are not generated.
+     */
+    private Map<ActivityType, Integer> activityMix = new EnumMap<>(Map.of(
+            ActivityType.RUNNING, 1,
+            ActivityType.CYCLING, 1,
+            ActivityType.WALKING, 1));
+
+    /**
+     * First day on which the generated trainings may start.
+     */
+    private LocalDate from = LocalDate.of(2024, 1, 1);
+
+    /**
+     * Day before which the generated trainings start (exclusive).
+     */
+    private LocalDate to = LocalDate.of(2024, 2, 1);
+
+    /**
+     * Number of rows inserted with a single JDBC batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Seed of the random generator, so that the same configuration always generates the same data.
+     */
+    private long seed = 42;
+
+    /**
+     * Whether no data is generated when the database already holds users, e.g. on restarts with persistent storage.
+     */
+    private boolean skipIfNotEmpty = false;
+}
@@ -7,8 +7,10 @@ public interface EmailSender {
 
     /**
      * Sends the email message to the recipient from the provided {@link EmailDto}.
+     * The email is queued and sent asynchronously, so this method does not wait for the mail server.
      *
      * @param email information on email to be sent
+     * @throws MailQueueFullException if the queue of outgoing emails stays full for too long
      */
     void send(EmailDto email);
 
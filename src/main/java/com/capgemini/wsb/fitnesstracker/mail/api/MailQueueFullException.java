@@ -0,0 +1,13 @@
+package com.capgemini.wsb.fitnesstracker.mail.api;
+
+/**
+ * Exception indicating that an email was rejected, because the queue of outgoing emails stayed full
+ * for longer than the configured timeout.
+ */
+public class MailQueueFullException extends RuntimeException {
+
+    public MailQueueFullException(String toAddress) {
+        super("Queue of outgoing emails is full, email to %s was rejected".formatted(toAddress));
+    }
+
+}
@@ -2,31 +2,254 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
-import lombok.RequiredArgsConstructor;
+import com.capgemini.wsb.fitnesstracker.mail.api.MailQueueFullException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Implementation of the {@link EmailSender} interface.
- * This service is responsible for sending emails using {@link JavaMailSender}.
- * The email is sent as a simple message with a from address, subject, and content.
+ * <p>
+ * Emails are put into a bounded in-memory queue and sent by a single background worker using {@link JavaMailSender}.
+ * The worker takes up to {@code mail.queue.batch-size} queued emails at once and sends them over a single SMTP
+ * connection. Emails that could not be sent are retried with an exponential backoff, up to
+ * {@code mail.queue.max-attempts} times; a retry finding the queue full waits for another backoff without losing
+ * an attempt. When the queue is full, callers wait up to {@code mail.queue.offer-timeout} for a free place.
+ * The queue is not persisted: emails waiting for a retry when the application stops are given up on,
+ * though the worker sends all queued emails before stopping.
+ * <p>
+ * The emails sent, retried and given up on are counted, and the SMTP round trips of the batches are timed.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class EmailSenderImpl implements EmailSender {
+public class EmailSenderImpl implements EmailSender, SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
 
     private final JavaMailSender javaMailSender;
+    private final MailProperties mailProperties;
+    private final BlockingQueue<QueuedEmail> queue;
+    private final Counter sentEmails;
+    private final Counter retriedEmails;
+    private final Counter failedEmails;
+    private final Timer batchTimer;
+
+    private ScheduledExecutorService retryScheduler;
+    private Thread worker;
+    private volatile boolean running;
+
+    public EmailSenderImpl(JavaMailSender javaMailSender, MailProperties mailProperties, MeterRegistry meterRegistry) {
+        this.javaMailSender = javaMailSender;
+        this.mailProperties = mailProperties;
+        this.queue = new LinkedBlockingQueue<>(mailProperties.getQueue().getCapacity());
+        this.sentEmails = emailCounter(meterRegistry, "sent");
+        this.retriedEmails = emailCounter(meterRegistry, "retried");
+        this.failedEmails = emailCounter(meterRegistry, "failed");
+        this.batchTimer = Timer.builder("mail.batch.send")
+                .description("SMTP round trips sending a batch of emails")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("mail.queue.size", queue, BlockingQueue::size)
+                .description("Emails waiting in the queue, not counting the ones waiting for a retry")
+                .register(meterRegistry);
+    }
 
     @Override
+    @Timed(value = "mail.queue.offer", histogram = true)
     public void send(EmailDto email) {
         SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom("76077-99993@fitnestracker.com");
+        message.setFrom(mailProperties.getFrom());
         message.setTo(email.toAddress());
         message.setSubject(email.subject());
         message.setText(email.content());
-        javaMailSender.send(message);
+
+        try {
+            Duration offerTimeout = mailProperties.getQueue().getOfferTimeout();
+            if (!queue.offer(new QueuedEmail(message, 1), offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailQueueFullException(email.toAddress());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailQueueFullException(email.toAddress());
+        }
+    }
+
+    /**
+     * Returns the number of emails waiting in the queue, not counting the ones waiting for a retry.
+     *
+     * @return the number of queued emails
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+        worker = new CustomizableThreadFactory("mail-sender-").newThread(this::processQueue);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        int pendingRetries = retryScheduler.shutdownNow().size();
+        if (pendingRetries > 0) {
+            failedEmails.increment(pendingRetries);
+            log.warn("{} emails waiting for a retry were not sent", pendingRetries);
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} queued emails were not sent", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void processQueue() {
+        int batchSize = mailProperties.getQueue().getBatchSize();
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedEmail first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<QueuedEmail> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure of the mail sender", e);
+            }
+        }
+    }
+
+    private void sendBatch(List<QueuedEmail> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            javaMailSender.send(batch.stream().map(QueuedEmail::message).toArray(SimpleMailMessage[]::new));
+            sentEmails.increment(batch.size());
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            List<QueuedEmail> failed = batch.stream()
+                    .filter(email -> failedMessages.isEmpty() || failedMessages.containsKey(email.message()))
+                    .toList();
+            sentEmails.increment(batch.size() - failed.size());
+            failed.forEach(email -> retry(email, e));
+        } catch (MailException e) {
+            batch.forEach(email -> retry(email, e));
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    private void retry(QueuedEmail email, Exception cause) {
+        String toAddress = String.join(", ", email.message().getTo());
+        if (email.attempt() >= mailProperties.getQueue().getMaxAttempts() || !running) {
+            giveUp(email, email.attempt(), cause);
+            return;
+        }
+        long backoff = backoff(email.attempt());
+        log.warn("Failed to send email to {} (attempt {}), retrying in {} ms: {}", toAddress, email.attempt(), backoff, cause.getMessage());
+        if (scheduleRequeue(email.nextAttempt(), backoff, cause)) {
+            retriedEmails.increment();
+        }
+    }
+
+    /**
+     * Puts an email back into the queue for its next attempt. When the queue is full, the email is requeued again
+     * after a new backoff, keeping its attempt number, as it was not sent.
+     */
+    private void requeue(QueuedEmail email, Exception cause) {
+        if (queue.offer(email)) {
+            return;
+        }
+        if (!running) {
+            giveUp(email, email.attempt() - 1, cause);
+            return;
+        }
+        long backoff = backoff(email.attempt() - 1);
+        log.warn("Mail queue full, requeueing email to {} in {} ms", String.join(", ", email.message().getTo()), backoff);
+        scheduleRequeue(email, backoff, cause);
+    }
+
+    /**
+     * Schedules the requeueing of an email, or gives up on it if the sender is stopping and its retry scheduler
+     * does not accept tasks anymore.
+     *
+     * @return whether the requeueing was scheduled
+     */
+    private boolean scheduleRequeue(QueuedEmail email, long backoff, Exception cause) {
+        try {
+            retryScheduler.schedule(() -> requeue(email, cause), backoff, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            giveUp(email, email.attempt() - 1, cause);
+            return false;
+        }
+    }
+
+    private long backoff(int attempt) {
+        MailProperties.Queue queueProperties = mailProperties.getQueue();
+        return Math.min(
+                queueProperties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 30),
+                queueProperties.getMaxBackoff().toMillis());
+    }
+
+    private void giveUp(QueuedEmail email, int attempts, Exception cause) {
+        failedEmails.increment();
+        log.error("Giving up sending email to {} after {} attempts", String.join(", ", email.message().getTo()), attempts, cause);
+    }
+
+    private static Counter emailCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mail.emails")
+                .description("Emails sent, retried after a failure, or given up on")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record QueuedEmail(SimpleMailMessage message, int attempt) {
+
+        QueuedEmail nextAttempt() {
+            return new QueuedEmail(message, attempt + 1);
+        }
     }
 }
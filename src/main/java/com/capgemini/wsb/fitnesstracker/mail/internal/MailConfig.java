@@ -1,7 +1,12 @@
 package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Properties;
 
 /**
  * Configuration class for the mail settings in the application.
@@ -11,4 +16,19 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableConfigurationProperties(MailProperties.class)
 class MailConfig {
-}
\ No newline at end of file
+
+    @Bean
+    JavaMailSender javaMailSender(MailProperties mailProperties) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(mailProperties.getHost());
+        mailSender.setPort(mailProperties.getPort());
+        mailSender.setUsername(mailProperties.getUsername());
+        mailSender.setPassword(mailProperties.getPassword());
+
+        Properties properties = new Properties();
+        properties.putAll(mailProperties.getProperties());
+        mailSender.setJavaMailProperties(properties);
+
+        return mailSender;
+    }
+}
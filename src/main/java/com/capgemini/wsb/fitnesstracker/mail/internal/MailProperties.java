@@ -2,39 +2,89 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Configuration of the {@link EmailSender} (additional to the Spring mail configuration for {@link JavaMailSender} bean autoconfiguration).
+ * Configuration of the {@link EmailSender} and of the SMTP server used by the {@link JavaMailSender} bean.
  */
 @ConfigurationProperties(prefix = "mail")
 @Getter
-@RequiredArgsConstructor
+@Setter
 public class MailProperties {
 
     /**
      * Email address that the email should be sent from.
      */
-    private final String from;
-
-    @Bean
-    public JavaMailSender javaMailSender(MailProperties mailProperties) {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost("sandbox.smtp.mailtrap.io");
-        mailSender.setPort(587);
-        mailSender.setUsername("example");
-        mailSender.setPassword("example");
-
-        java.util.Properties properties = new java.util.Properties();
-        properties.put("mail.smtp.auth", "true");
-        properties.put("mail.smtp.starttls.enable", "true");
-        mailSender.setJavaMailProperties(properties);
-
-        return mailSender;
-    }
+    private String from;
+
+    /**
+     * Host of the SMTP server.
+     */
+    private String host;
+
+    /**
+     * Port of the SMTP server.
+     */
+    private int port = 25;
+
+    /**
+     * Login user of the SMTP server.
+     */
+    private String username;
+
+    /**
+     * Login password of the SMTP server.
+     */
+    private String password;
 
+    /**
+     * Additional JavaMail session properties, e.g. {@code mail.smtp.auth}.
+     */
+    private Map<String, String> properties = new HashMap<>();
+
+    /**
+     * Configuration of the queue of outgoing emails.
+     */
+    private final Queue queue = new Queue();
+
+    @Getter
+    @Setter
+    public static class Queue {
+
+        /**
+         * Maximal number of emails waiting to be sent.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Maximal number of emails sent over a single SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * How long a caller waits for a free place when the queue is full, before the email is rejected.
+         */
+        private Duration offerTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Maximal number of attempts to send an email, including the first one.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Delay before the first retry of a failed email, doubled for every further retry.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Maximal delay between two attempts to send an email.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+    }
 }
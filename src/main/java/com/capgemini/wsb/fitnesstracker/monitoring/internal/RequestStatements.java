@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Number of SQL statements issued by the HTTP request handled by the current thread.
+ * Statements issued on other threads on behalf of the request, e.g. by the report workers, are not counted.
+ */
+final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private int statements;
+
+    private RequestStatements(String request) {
+        this.request = request;
+    }
+
+    /**
+     * Starts counting the statements of the request handled by the current thread.
+     *
+     * @param request the description of the request, e.g. its method and URI
+     */
+    static RequestStatements start(String request) {
+        RequestStatements statements = new RequestStatements(request);
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Returns the statements of the request handled by the current thread, {@code null} outside of requests.
+     */
+    @Nullable
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops counting the statements of the request handled by the current thread.
+     */
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    void increment() {
+        statements++;
+    }
+
+    String request() {
+        return request;
+    }
+
+    int statements() {
+        return statements;
+    }
+}
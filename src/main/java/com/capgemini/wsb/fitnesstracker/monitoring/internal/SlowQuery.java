@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement slower than the threshold of the slow query log.
+ *
+ * @param executedAt the time the statement finished at
+ * @param duration   the execution time of the statement, of the whole batch for batched statements
+ * @param sql        the SQL of the statement
+ * @param parameters the bind parameters, one list per execution of a batched statement
+ * @param batchSize  the number of executions of a batched statement, {@code 0} when not batched
+ * @param request    the HTTP request that issued the statement, {@code null} outside of requests
+ */
+public record SlowQuery(Instant executedAt, Duration duration, String sql, List<List<String>> parameters,
+                        int batchSize, String request) {
+}
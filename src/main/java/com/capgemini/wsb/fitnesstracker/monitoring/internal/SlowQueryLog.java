@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed-size ring buffer of the latest slow statements. Recording is lock-free, so that slow statements
+ * of concurrent requests do not queue up behind each other; once full, the oldest statements are overwritten.
+ */
+class SlowQueryLog {
+
+    private final AtomicReferenceArray<SlowQuery> queries;
+    private final AtomicLong next = new AtomicLong();
+
+    SlowQueryLog(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The slow query log size must be positive: " + size);
+        }
+        this.queries = new AtomicReferenceArray<>(size);
+    }
+
+    void record(SlowQuery query) {
+        queries.set((int) (next.getAndIncrement() % queries.length()), query);
+    }
+
+    /**
+     * Returns the statements in the log, the slowest first.
+     */
+    List<SlowQuery> slowest() {
+        return IntStream.range(0, queries.length())
+                .mapToObj(queries::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(SlowQuery::duration).reversed())
+                .toList();
+    }
+
+    void clear() {
+        for (int i = 0; i < queries.length(); i++) {
+            queries.set(i, null);
+        }
+    }
+}
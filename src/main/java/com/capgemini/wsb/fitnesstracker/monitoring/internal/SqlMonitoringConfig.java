@@ -0,0 +1,58 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the monitoring of the SQL statements.
+ * The {@link DataSource} is wrapped in a proxy notifying the {@link SqlStatementListener} of every executed
+ * statement, so the statements of Hibernate, Spring Data, the {@code JdbcTemplate} and Flyway are all seen.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+class SqlMonitoringConfig {
+
+    @Bean
+    static BeanPostProcessor sqlMonitoringDataSourceProxy(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    SlowQueryLog slowQueryLog(SqlMonitoringProperties properties) {
+        return new SlowQueryLog(properties.getSlowQueryLogSize());
+    }
+
+    @Bean
+    SqlStatementListener sqlStatementListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                                              SqlMonitoringProperties properties) {
+        return new SqlStatementListener(meterRegistry, slowQueryLog, properties);
+    }
+
+    @Bean
+    SqlStatementCountFilter sqlStatementCountFilter(MeterRegistry meterRegistry) {
+        return new SqlStatementCountFilter(meterRegistry);
+    }
+
+    @Bean
+    SqlQueriesEndpoint sqlQueriesEndpoint(SlowQueryLog slowQueryLog, MeterRegistry meterRegistry) {
+        return new SqlQueriesEndpoint(slowQueryLog, meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the monitoring of the SQL statements sent to the database.
+ */
+@ConfigurationProperties(prefix = "monitoring.sql")
+@Getter
+@Setter
+public class SqlMonitoringProperties {
+
+    /**
+     * Execution time from which a statement is kept in the slow query log.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(50);
+
+    /**
+     * Number of slow statements kept; the oldest ones are overwritten first.
+     */
+    private int slowQueryLogSize = 100;
+
+    /**
+     * Maximal number of characters kept of every bind parameter of a slow statement.
+     */
+    private int maxParameterLength = 100;
+}
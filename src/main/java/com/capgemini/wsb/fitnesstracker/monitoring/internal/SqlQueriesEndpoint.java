@@ -0,0 +1,67 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/sqlqueries} listing the slowest recent SQL statements with their bind parameters,
+ * and the number of statements issued per request by every endpoint, the endpoints issuing the most first.
+ * A {@code DELETE} clears the slow query log. As the bind parameters hold personal data, the endpoint is only exposed
+ * over the web by the {@code ops} profile.
+ */
+@Endpoint(id = "sqlqueries")
+public class SqlQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+    private final MeterRegistry meterRegistry;
+
+    SqlQueriesEndpoint(SlowQueryLog slowQueryLog, MeterRegistry meterRegistry) {
+        this.slowQueryLog = slowQueryLog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public SqlQueries sqlQueries() {
+        List<EndpointStatements> requests = meterRegistry.find(SqlStatementCountFilter.REQUEST_STATEMENTS).summaries().stream()
+                .map(summary -> new EndpointStatements(
+                        summary.getId().getTag("method"),
+                        summary.getId().getTag("uri"),
+                        summary.count(),
+                        summary.mean(),
+                        summary.max()))
+                .sorted(Comparator.comparingDouble(EndpointStatements::meanStatements).reversed())
+                .toList();
+        return new SqlQueries(slowQueryLog.slowest(), requests);
+    }
+
+    @DeleteOperation
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+
+    /**
+     * Report of the {@code sqlqueries} endpoint.
+     *
+     * @param slowestQueries the statements of the slow query log, the slowest first
+     * @param requests       the numbers of statements per request of every endpoint
+     */
+    public record SqlQueries(List<SlowQuery> slowestQueries, List<EndpointStatements> requests) {
+    }
+
+    /**
+     * Numbers of SQL statements issued by the requests of an endpoint.
+     *
+     * @param method         the HTTP method of the endpoint
+     * @param uri            the URI pattern of the endpoint
+     * @param requests       the number of requests
+     * @param meanStatements the mean number of statements per request
+     * @param maxStatements  the maximal number of statements of a request, over the recent window of the metrics
+     */
+    public record EndpointStatements(String method, String uri, long requests, double meanStatements, double maxStatements) {
+    }
+}
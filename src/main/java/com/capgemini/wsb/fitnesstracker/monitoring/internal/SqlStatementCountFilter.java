@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements issued by every HTTP request, tagged by method and URI pattern,
+ * so that endpoints issuing a statement per returned row stand out.
+ */
+class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_STATEMENTS = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    SqlStatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements.finish();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(REQUEST_STATEMENTS)
+                    .description("SQL statements issued by an HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements.statements());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every statement sent to the database, counts the statements of the current HTTP request
+ * and keeps the slow ones, with their bind parameters, in the {@link SlowQueryLog}.
+ * The bind parameters are only rendered for the slow statements.
+ */
+class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "startNanos";
+    private static final List<String> STATEMENT_TYPES = List.of("select", "insert", "update", "delete", "merge", "other");
+    private static final int MAX_LOGGED_EXECUTIONS = 10;
+    private static final Comparator<ParameterSetOperation> PARAMETER_ORDER = Comparator
+            .comparingInt((ParameterSetOperation operation) -> operation.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE)
+            .thenComparing(operation -> String.valueOf(operation.getArgs()[0]));
+
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final SlowQueryLog slowQueryLog;
+    private final long slowQueryThresholdNanos;
+    private final int maxParameterLength;
+
+    SqlStatementListener(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog, SqlMonitoringProperties properties) {
+        for (String type : STATEMENT_TYPES) {
+            timers.put(type, Timer.builder("sql.statements")
+                    .description("Execution time of the SQL statements, of the whole batch for batched statements")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+        this.maxParameterLength = properties.getMaxParameterLength();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long durationNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining(";\n"));
+        timers.get(statementType(sql)).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null) {
+            requestStatements.increment();
+        }
+        if (durationNanos >= slowQueryThresholdNanos) {
+            slowQueryLog.record(new SlowQuery(
+                    Instant.now(),
+                    Duration.ofNanos(durationNanos),
+                    sql,
+                    parameters(queryInfoList),
+                    execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                    requestStatements == null ? null : requestStatements.request()));
+        }
+    }
+
+    private static String statementType(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return STATEMENT_TYPES.contains(keyword) ? keyword : "other";
+    }
+
+    private List<List<String>> parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .limit(MAX_LOGGED_EXECUTIONS)
+                .map(execution -> execution.stream()
+                        .sorted(PARAMETER_ORDER)
+                        .map(this::parameter)
+                        .toList())
+                .toList();
+    }
+
+    private String parameter(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "NULL";
+        }
+        Object[] args = operation.getArgs();
+        String value = args.length > 1 ? String.valueOf(args[1]) : "";
+        return value.length() > maxParameterLength ? value.substring(0, maxParameterLength) + "..." : value;
+    }
+}
@@ -0,0 +1,152 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the list endpoints for keyset (cursor) and offset based pagination.
+ * <p>
+ * Paged endpoints keep returning a plain JSON array of the requested page. The paging metadata is returned
+ * in the response headers: {@value #NEXT_CURSOR_HEADER} holds an opaque cursor to be passed back as the
+ * {@code cursor} request parameter to fetch the next page (absent on the last page),
+ * and {@value #TOTAL_COUNT_HEADER} holds the total number of elements for offset based pages.
+ */
+public final class Pagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private Pagination() {
+    }
+
+    /**
+     * Clamps the requested page size to the range allowed by the API.
+     *
+     * @param size the requested page size, or {@code null} for the default one
+     * @return a page size between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    public static int pageSize(@Nullable Integer size) {
+        return pageSize(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Clamps the requested page size to the range allowed by an endpoint with a lower limit than the API one.
+     *
+     * @param size    the requested page size, or {@code null} for the default one
+     * @param maxSize the maximal page size of the endpoint
+     * @return a page size between 1 and {@code maxSize}
+     */
+    public static int pageSize(@Nullable Integer size, int maxSize) {
+        if (size == null) {
+            return Math.min(DEFAULT_PAGE_SIZE, maxSize);
+        }
+        return Math.max(1, Math.min(size, maxSize));
+    }
+
+    /**
+     * Creates a request for the given page of an offset based pagination, ordered by ID so that consecutive pages
+     * neither skip nor repeat elements.
+     *
+     * @param page the zero-based number of the page
+     * @param size the requested page size, or {@code null} for the default one
+     * @return the page request sorted by ID
+     */
+    public static Pageable offsetPage(int page, @Nullable Integer size) {
+        return offsetPage(page, size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a request for the given page of an offset based pagination, ordered by ID, for an endpoint
+     * with a lower page size limit than the API one.
+     *
+     * @param page    the zero-based number of the page
+     * @param size    the requested page size, or {@code null} for the default one
+     * @param maxSize the maximal page size of the endpoint
+     * @return the page request sorted by ID
+     */
+    public static Pageable offsetPage(int page, @Nullable Integer size, int maxSize) {
+        return PageRequest.of(Math.max(page, 0), pageSize(size, maxSize), Sort.by("id"));
+    }
+
+    /**
+     * Creates a request for the first {@code limit} elements ordered by ID, used by the keyset queries
+     * ({@code id > :lastId}).
+     *
+     * @param limit the page size
+     * @return the page request sorted by ID
+     */
+    public static Pageable keysetPage(int limit) {
+        return PageRequest.of(0, limit, Sort.by("id"));
+    }
+
+    /**
+     * Decodes the cursor returned in the {@value #NEXT_CURSOR_HEADER} header.
+     *
+     * @param cursor the cursor passed by the client, or {@code null} for the first page
+     * @return the ID after which the next page starts, {@code 0} for the first page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static long decodeCursor(@Nullable String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Encodes the ID of the last element of a page as an opaque cursor.
+     *
+     * @param lastId the ID of the last element of the page
+     * @return the cursor pointing right after the given ID
+     */
+    public static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Builds the response for a page of a keyset pagination.
+     *
+     * @param slice  the page of elements, ordered by ID
+     * @param idOf   function extracting the ID of an element
+     * @param mapper function mapping an element to its DTO
+     * @return the response with mapped elements and the {@value #NEXT_CURSOR_HEADER} header if there are more elements
+     */
+    public static <T, R> ResponseEntity<List<R>> keysetResponse(Slice<T> slice, Function<T, Long> idOf, Function<T, R> mapper) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext() && slice.hasContent()) {
+            List<T> content = slice.getContent();
+            response.header(NEXT_CURSOR_HEADER, encodeCursor(idOf.apply(content.get(content.size() - 1))));
+        }
+        return response.body(slice.getContent().stream().map(mapper).toList());
+    }
+
+    /**
+     * Builds the response for a page of an offset based pagination.
+     *
+     * @param page   the page of elements
+     * @param mapper function mapping an element to its DTO
+     * @return the response with mapped elements and the {@value #TOTAL_COUNT_HEADER} header
+     */
+    public static <T, R> ResponseEntity<List<R>> pageResponse(Page<T> page, Function<T, R> mapper) {
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                .body(page.getContent().stream().map(mapper).toList());
+    }
+}
@@ -1,4 +1,95 @@
 package com.capgemini.wsb.fitnesstracker.report.api;
 
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of the generation of the monthly reports for a single month.
+ * <p>
+ * Users are processed in pages ordered by ID, and the checkpoint is saved after every page,
+ * so an interrupted generation can be resumed after the last processed user.
+ */
+@Entity
+@Table(name = "reports",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reports_year_month", columnNames = {"report_year", "report_month"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
 public class Report {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_year", nullable = false)
+    private int year;
+
+    @Column(name = "report_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReportStatus status;
+
+    @Column(name = "last_processed_user_id", nullable = false)
+    private long lastProcessedUserId;
+
+    @Column(name = "processed_users", nullable = false)
+    private long processedUsers;
+
+    @Column(name = "sent_emails", nullable = false)
+    private long sentEmails;
+
+    @Column(name = "failed_emails", nullable = false)
+    private long failedEmails;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public Report(final int year, final int month) {
+        this.year = year;
+        this.month = month;
+        start();
+    }
+
+    /**
+     * Resets the checkpoint to start a new generation from the first user.
+     */
+    public void start() {
+        this.status = ReportStatus.IN_PROGRESS;
+        this.lastProcessedUserId = 0;
+        this.processedUsers = 0;
+        this.sentEmails = 0;
+        this.failedEmails = 0;
+        this.startedAt = Instant.now();
+        this.finishedAt = null;
+    }
+
+    /**
+     * Records a processed page of users.
+     *
+     * @param lastUserId   the ID of the last user of the page
+     * @param users        the number of users of the page
+     * @param sentEmails   the number of reports sent successfully
+     * @param failedEmails the number of reports that could not be sent
+     */
+    public void recordPage(long lastUserId, int users, int sentEmails, int failedEmails) {
+        this.lastProcessedUserId = lastUserId;
+        this.processedUsers += users;
+        this.sentEmails += sentEmails;
+        this.failedEmails += failedEmails;
+    }
+
+    /**
+     * Marks the generation as completed.
+     */
+    public void complete() {
+        this.status = ReportStatus.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
 }
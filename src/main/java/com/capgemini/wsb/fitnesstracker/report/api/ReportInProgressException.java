@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.report.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+
+/**
+ * Exception indicating that the monthly reports cannot be generated, because a generation is already running.
+ */
+@SuppressWarnings("squid:S110")
+public class ReportInProgressException extends BusinessException {
+
+    public ReportInProgressException() {
+        super("Monthly reports are already being generated");
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.report.api;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Utility class for mapping {@link Report} checkpoints to {@link ReportProgressDto} objects.
+ */
+public class ReportMapper {
+
+    /**
+     * Converts a {@link Report} checkpoint to a {@link ReportProgressDto},
+     * computing the throughput from the start of the generation until its end, or until now if still in progress.
+     *
+     * @param report the report checkpoint to be converted
+     * @return a {@link ReportProgressDto} describing the progress of the report generation
+     */
+    public static ReportProgressDto toProgressDto(Report report) {
+        Instant end = report.getFinishedAt() != null ? report.getFinishedAt() : Instant.now();
+        long elapsedMillis = Math.max(Duration.between(report.getStartedAt(), end).toMillis(), 1);
+
+        return new ReportProgressDto(
+                report.getYear(),
+                report.getMonth(),
+                report.getStatus(),
+                report.getLastProcessedUserId(),
+                report.getProcessedUsers(),
+                report.getSentEmails(),
+                report.getFailedEmails(),
+                report.getStartedAt(),
+                report.getFinishedAt(),
+                report.getProcessedUsers() * 1000.0 / elapsedMillis
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.report.api;
+
+import java.time.Instant;
+
+/**
+ * Progress of the generation of the monthly reports for a single month.
+ *
+ * @param year                the year of the report
+ * @param month               the month of the report
+ * @param status              the status of the generation
+ * @param lastProcessedUserId the ID of the last user whose report was processed
+ * @param processedUsers      the number of processed users
+ * @param sentEmails          the number of reports sent successfully
+ * @param failedEmails        the number of reports that could not be sent
+ * @param startedAt           the time the generation was started
+ * @param finishedAt          the time the generation was completed, {@code null} if still in progress
+ * @param usersPerSecond      the number of processed users per second since the start of the generation
+ */
+public record ReportProgressDto(
+        int year,
+        int month,
+        ReportStatus status,
+        long lastProcessedUserId,
+        long processedUsers,
+        long sentEmails,
+        long failedEmails,
+        Instant startedAt,
+        Instant finishedAt,
+        double usersPerSecond
+) {}
@@ -1,16 +1,28 @@
 package com.capgemini.wsb.fitnesstracker.report.api;
 
+import java.util.Optional;
+
 public interface ReportService {
 
     /**
      * Generates a monthly training report for each user.
      * The report contains the total number of trainings for each user within the specified month and year.
+     * If a previous generation for the same month was interrupted, it is resumed after the last processed user.
      *
      * @param month the month for which the report is to be generated (1 for January, 2 for February, etc.)
      * @param year  the year for which the report is to be generated
      */
     void generateMonthlyReport(int month, int year);
 
+    /**
+     * Retrieves the checkpoint of the generation of the reports for the given month.
+     *
+     * @param month the month of the report (1 for January, 2 for February, etc.)
+     * @param year  the year of the report
+     * @return an {@link Optional} containing the report, or {@link Optional#empty()} if it was never generated
+     */
+    Optional<Report> getReport(int month, int year);
+
     /**
      * This method is scheduled to run at the end of each month.
      * It calculates the last day of the current month and calls generateMonthlyReport
@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.report.api;
+
+/**
+ * Status of the generation of a monthly {@link Report}.
+ */
+public enum ReportStatus {
+
+    /**
+     * The reports are being sent, or the generation was interrupted and can be resumed.
+     */
+    IN_PROGRESS,
+
+    /**
+     * The reports were sent to all users.
+     */
+    COMPLETED
+}
@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the monthly report generation.
+ * The {@link ReportProperties} class contains the size of the pages of users and of the worker pool sending the reports.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+class ReportConfig {
+
+    /**
+     * Bounded pool of workers sending the reports. When all workers are busy and the queue is full,
+     * the reports are sent by the generating thread, which slows down reading further users.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    ExecutorService reportExecutor(ReportProperties reportProperties) {
+        return new ThreadPoolExecutor(
+                reportProperties.getWorkers(),
+                reportProperties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(reportProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("report-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Sends every report on its own virtual thread when virtual threads are enabled. At most as many reports
+     * as there are workers are sent at once, further submissions block the generating thread until one finishes,
+     * so the mail server and the connection pool see the same load as with the platform workers.
+     */
+    @Bean("reportExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    SimpleAsyncTaskExecutor virtualReportExecutor(ReportProperties reportProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("report-worker-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(reportProperties.getWorkers());
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(30));
+        return executor;
+    }
+}
@@ -1,8 +1,11 @@
 package com.capgemini.wsb.fitnesstracker.report.internal;
 
+import com.capgemini.wsb.fitnesstracker.report.api.ReportMapper;
+import com.capgemini.wsb.fitnesstracker.report.api.ReportProgressDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -10,7 +13,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Rest controller for handling report generation and email sending.
- * Provides an endpoint for triggering the generation and sending of monthly training reports.
+ * Provides endpoints for triggering the generation and sending of monthly training reports and for following its progress.
  */
 @RestController
 @RequiredArgsConstructor
@@ -32,4 +35,19 @@ public class ReportController {
         reportService.generateMonthlyReport(month, year);
         return ResponseEntity.ok("Reports has been sent!");
     }
+
+    /**
+     * Retrieves the progress of the generation of the monthly reports for the given month:
+     * the number of processed users and sent reports, the last processed user and the throughput.
+     *
+     * @param month the month of the report (1 for January, 2 for February, etc.)
+     * @param year  the year of the report
+     * @return the progress of the report generation, or a 404 Not Found response if it was never generated
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<ReportProgressDto> getReportProgress(@RequestParam int month, @RequestParam int year) {
+        return reportService.getReport(month, year)
+                .map(report -> ResponseEntity.ok(ReportMapper.toProgressDto(report)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
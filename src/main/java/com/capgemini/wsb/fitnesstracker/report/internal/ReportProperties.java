@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the monthly report generation.
+ */
+@ConfigurationProperties(prefix = "report")
+@Getter
+@Setter
+public class ReportProperties {
+
+    /**
+     * Number of users read, counted and checkpointed at once.
+     */
+    private int pageSize = 500;
+
+    /**
+     * Number of threads rendering and sending the reports.
+     */
+    private int workers = 8;
+
+    /**
+     * Number of reports waiting for a free worker; when full, the reports are sent by the generating thread.
+     */
+    private int queueCapacity = 1000;
+}
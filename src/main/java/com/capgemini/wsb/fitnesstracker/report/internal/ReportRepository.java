@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import com.capgemini.wsb.fitnesstracker.report.api.Report;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+interface ReportRepository extends JpaRepository<Report, Long> {
+
+    /**
+     * Retrieves the report checkpoint of the given month.
+     *
+     * @param year  the year of the report
+     * @param month the month of the report
+     * @return an {@link Optional} containing the report, or {@link Optional#empty()} if it was never generated
+     */
+    Optional<Report> findByYearAndMonth(int year, int month);
+}
@@ -1,73 +1,209 @@
 package com.capgemini.wsb.fitnesstracker.report.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
-import com.capgemini.wsb.fitnesstracker.mail.internal.EmailSenderImpl;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.report.api.Report;
+import com.capgemini.wsb.fitnesstracker.report.api.ReportInProgressException;
 import com.capgemini.wsb.fitnesstracker.report.api.ReportService;
+import com.capgemini.wsb.fitnesstracker.report.api.ReportStatus;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
-import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserIdEmailInfo;
 import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link ReportService} interface.
- * This service is responsible for generating reports and them with emails using {@link JavaMailSender}.
+ * <p>
+ * The reports are generated as a batch pipeline: users are read in pages ordered by ID, the trainings of a whole page
+ * are counted with a single grouped query, and the reports of the page are rendered and sent by a bounded pool
+ * of workers. Once a page is sent, the {@link Report} checkpoint is saved, so an interrupted generation is resumed
+ * after the last processed user. Reports of a page interrupted half-way may therefore be sent twice.
+ * <p>
+ * The progress of the current, or else the last, generation is published as gauges.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class ReportServiceImpl implements ReportService {
+@Timed(value = "fitnesstracker.service", histogram = true)
+public class ReportServiceImpl implements ReportService, MeterBinder {
+
+    private static final String SUBJECT = "Monthly Training Report";
 
     private final TrainingRepository trainingRepository;
     private final UserRepository userRepository;
-    private final EmailSenderImpl emailSender;
+    private final EmailSender emailSender;
+    private final ReportRepository reportRepository;
+    private final ReportProperties reportProperties;
+    private final Executor reportExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Report lastReport;
 
     /**
      * Generates a monthly training report for each user.
      * The report contains the total number of trainings for each user within the specified month and year.
+     *
+     * @throws ReportInProgressException if reports are already being generated
      */
     @Override
     public void generateMonthlyReport(int month, int year) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.YEAR, year);
-        calendar.set(Calendar.MONTH, month - 1);
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        Date firstOfMonth = calendar.getTime();
-
-        calendar.add(Calendar.MONTH, 1);
-        calendar.set(Calendar.DAY_OF_MONTH, 0);
-        Date lastOfMonth = calendar.getTime();
-
-        List<User> users = userRepository.findAll();
-
-        for (User user : users) {
-            long trainingCount = trainingRepository.countByUserIdAndMonth(user.getId(), firstOfMonth, lastOfMonth);
-            String emailContent = "You have registered " + trainingCount + " workouts this month.";
-            EmailDto email = new EmailDto(user.getEmail(), "Monthly Training Report", emailContent);
-            emailSender.send(email);
-            log.info("Report sent to user: {}", user.getEmail());
+        YearMonth reportMonth = YearMonth.of(year, month);
+        if (!running.compareAndSet(false, true)) {
+            throw new ReportInProgressException();
+        }
+        try {
+            generate(reportMonth);
+        } finally {
+            running.set(false);
         }
     }
 
+    /**
+     * Retrieves the checkpoint of the generation of the reports for the given month.
+     */
+    @Override
+    public Optional<Report> getReport(int month, int year) {
+        return reportRepository.findByYearAndMonth(year, month);
+    }
+
+    /**
+     * Registers the gauges of the progress of the report generation.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("report.in.progress", running, generating -> generating.get() ? 1 : 0)
+                .description("Whether monthly reports are being generated")
+                .register(registry);
+        Gauge.builder("report.users.processed", this, service -> progress(Report::getProcessedUsers))
+                .description("Users processed by the current or last report generation")
+                .register(registry);
+        Gauge.builder("report.emails", this, service -> progress(Report::getSentEmails))
+                .description("Reports sent or failed by the current or last report generation")
+                .tag("result", "sent")
+                .register(registry);
+        Gauge.builder("report.emails", this, service -> progress(Report::getFailedEmails))
+                .description("Reports sent or failed by the current or last report generation")
+                .tag("result", "failed")
+                .register(registry);
+    }
+
     /**
      * This method is scheduled to run at the end of each month.
      * It calculates the last day of the current month and calls generateMonthlyReport
      * to send the reports for the current month.
      */
-    @Scheduled(cron = "0 59 23 28-31 * ?")
+    @Scheduled(cron = "0 59 23 L * ?")
     @Override
     public void sendMonthlyReportsAtMonthEnd() {
-        Calendar calendar = Calendar.getInstance();
-        int currentMonth = calendar.get(Calendar.MONTH) + 1;
-        int currentYear = calendar.get(Calendar.YEAR);
+        YearMonth currentMonth = YearMonth.now();
+        generateMonthlyReport(currentMonth.getMonthValue(), currentMonth.getYear());
+    }
+
+    private void generate(YearMonth reportMonth) {
+        Report report = reportRepository.findByYearAndMonth(reportMonth.getYear(), reportMonth.getMonthValue())
+                .orElseGet(() -> new Report(reportMonth.getYear(), reportMonth.getMonthValue()));
+        if (report.getStatus() == ReportStatus.COMPLETED) {
+            report.start();
+        } else if (report.getLastProcessedUserId() > 0) {
+            log.info("Resuming reports for {} after user {}", reportMonth, report.getLastProcessedUserId());
+        }
+        report = reportRepository.save(report);
+        lastReport = report;
+
+        Date from = toDate(reportMonth.atDay(1));
+        Date to = toDate(reportMonth.plusMonths(1).atDay(1));
+        int pageSize = reportProperties.getPageSize();
+        long startNanos = System.nanoTime();
+        long processedUsers = 0;
+
+        List<UserIdEmailInfo> users;
+        do {
+            users = userRepository.findIdEmailAfter(report.getLastProcessedUserId(), PageRequest.ofSize(pageSize));
+            if (users.isEmpty()) {
+                break;
+            }
+            int sent = sendReports(users, countTrainings(users, from, to));
+            report.recordPage(users.get(users.size() - 1).id(), users.size(), sent, users.size() - sent);
+            report = reportRepository.save(report);
+            lastReport = report;
+
+            processedUsers += users.size();
+            log.info("Reports for {}: {} users processed, {} sent, {} failed, {} users/s",
+                    reportMonth, report.getProcessedUsers(), report.getSentEmails(), report.getFailedEmails(),
+                    Math.round(usersPerSecond(processedUsers, startNanos)));
+        } while (users.size() == pageSize);
+
+        report.complete();
+        reportRepository.save(report);
+        log.info("Reports for {} completed: {} users processed in {} s ({} users/s)",
+                reportMonth, processedUsers, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos),
+                Math.round(usersPerSecond(processedUsers, startNanos)));
+    }
+
+    private Map<Long, Long> countTrainings(List<UserIdEmailInfo> users, Date from, Date to) {
+        List<Long> userIds = users.stream().map(UserIdEmailInfo::id).toList();
+        return trainingRepository.countByUserIdsAndStartTimeBetween(userIds, from, to).stream()
+                .collect(Collectors.toMap(UserTrainingCount::userId, UserTrainingCount::trainings));
+    }
+
+    /**
+     * Sends the reports of a page of users through the worker pool and waits for all of them.
+     *
+     * @return the number of reports sent successfully
+     */
+    private int sendReports(List<UserIdEmailInfo> users, Map<Long, Long> trainingCounts) {
+        List<CompletableFuture<Boolean>> results = users.stream()
+                .map(user -> CompletableFuture.supplyAsync(
+                        () -> sendReport(user, trainingCounts.getOrDefault(user.id(), 0L)), reportExecutor))
+                .toList();
+        return (int) results.stream().filter(CompletableFuture::join).count();
+    }
+
+    private boolean sendReport(UserIdEmailInfo user, long trainingCount) {
+        String emailContent = "You have registered " + trainingCount + " workouts this month.";
+        try {
+            emailSender.send(new EmailDto(user.email(), SUBJECT, emailContent));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to send report to user {}", user.id(), e);
+            return false;
+        }
+    }
+
+    private double progress(ToLongFunction<Report> value) {
+        Report report = lastReport;
+        return report == null ? 0 : value.applyAsLong(report);
+    }
+
+    private static double usersPerSecond(long users, long startNanos) {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return users * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
 
-        generateMonthlyReport(currentMonth, currentYear);
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 }
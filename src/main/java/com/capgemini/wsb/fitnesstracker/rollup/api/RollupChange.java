@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Change of the rollup of a user, day and activity type caused by training writes.
+ *
+ * @param userId         the ID of the user of the trainings
+ * @param day            the day the trainings started on, in the time zone of the server
+ * @param activityType   the activity type of the trainings
+ * @param trainings      the change of the number of trainings
+ * @param distance       the change of the distance
+ * @param caloriesBurned the change of the calories burned
+ */
+public record RollupChange(Long userId, LocalDate day, ActivityType activityType,
+                           int trainings, double distance, int caloriesBurned) {
+
+    /**
+     * Returns the change adding a training to the rollups.
+     *
+     * @param training       the added training
+     * @param caloriesBurned the calories burned during the training
+     * @return the change adding the training
+     */
+    public static RollupChange of(Training training, int caloriesBurned) {
+        return new RollupChange(
+                training.getUser().getId(),
+                LocalDate.ofInstant(training.getStartTime().toInstant(), ZoneId.systemDefault()),
+                training.getActivityType(),
+                1,
+                training.getDistance(),
+                caloriesBurned);
+    }
+
+    /**
+     * Returns the change undoing this one, e.g. removing a training from the rollups.
+     */
+    public RollupChange negate() {
+        return new RollupChange(userId, day, activityType, -trainings, -distance, -caloriesBurned);
+    }
+
+    /**
+     * Returns the sum of this change and another one of the same user, day and activity type.
+     */
+    public RollupChange add(RollupChange other) {
+        return new RollupChange(userId, day, activityType,
+                trainings + other.trainings, distance + other.distance, caloriesBurned + other.caloriesBurned);
+    }
+
+    /**
+     * Tells whether applying the change leaves the rollup unchanged.
+     */
+    public boolean isEmpty() {
+        return trainings == 0 && distance == 0 && caloriesBurned == 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the trainings of a user in one period.
+ *
+ * @param periodStart    the first day of the period
+ * @param trainings      the number of trainings started in the period
+ * @param distance       the total distance of the trainings
+ * @param caloriesBurned the total calories burned during the trainings
+ */
+public record RollupDto(
+        LocalDate periodStart,
+        int trainings,
+        double distance,
+        int caloriesBurned
+) {
+}
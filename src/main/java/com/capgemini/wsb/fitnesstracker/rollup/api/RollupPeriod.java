@@ -0,0 +1,52 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Length of the periods trainings are aggregated by.
+ */
+public enum RollupPeriod {
+
+    /**
+     * ISO weeks, starting on Monday.
+     */
+    WEEK(ChronoUnit.WEEKS, 12),
+    MONTH(ChronoUnit.MONTHS, 12),
+    YEAR(ChronoUnit.YEARS, 5);
+
+    private final ChronoUnit unit;
+    private final int defaultPeriods;
+
+    RollupPeriod(ChronoUnit unit, int defaultPeriods) {
+        this.unit = unit;
+        this.defaultPeriods = defaultPeriods;
+    }
+
+    /**
+     * Returns the first day of the period containing the given day.
+     *
+     * @param day the day to find the period of
+     * @return the first day of the period
+     */
+    public LocalDate start(LocalDate day) {
+        return switch (this) {
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case YEAR -> day.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Returns the first day of the default window ending with the period containing the given day:
+     * the last 12 weeks, the last 12 months or the last 5 years.
+     *
+     * @param to the last day of the window
+     * @return the first day of the window
+     */
+    public LocalDate defaultFrom(LocalDate to) {
+        return start(to.minus(defaultPeriods - 1, unit));
+    }
+}
@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RollupProvider {
+
+    /**
+     * Retrieves the totals of the trainings of a user per period, read from the rollups only.
+     * Periods without trainings are omitted.
+     *
+     * @param userId       the ID of the user whose trainings are aggregated
+     * @param period       the length of the periods
+     * @param from         the first day of the window, inclusive
+     * @param to           the last day of the window, inclusive
+     * @param activityType the activity type of the aggregated trainings, {@code null} for all of them
+     * @return the totals of every period with trainings, ordered by period
+     */
+    List<RollupDto> getRollups(Long userId, RollupPeriod period, LocalDate from, LocalDate to, @Nullable ActivityType activityType);
+}
@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.util.Collection;
+
+/**
+ * Service interface for maintaining the daily rollups of trainings.
+ */
+public interface RollupService {
+
+    /**
+     * Applies the given changes to the rollups, after the trainings causing them were saved.
+     * Changes of the same rollup are summed up first, and the rollups are incremented by the database,
+     * so concurrent training writes of the same user are all accounted for.
+     * <p>
+     * The users of the changes are locked until the end of the transaction. Training writes apply their changes
+     * before updating the statistics, so that every write locks the user before the statistics of the user.
+     *
+     * @param changes the changes to apply
+     */
+    void addToRollups(Collection<RollupChange> changes);
+
+    /**
+     * Rebuilds all rollups from the trainings in the database.
+     * As the rollups are kept up to date on every training write, this is only needed after trainings
+     * were written bypassing the application, or to repair the rollups.
+     *
+     * @return the number of rollups
+     */
+    int rebuildRollups();
+}
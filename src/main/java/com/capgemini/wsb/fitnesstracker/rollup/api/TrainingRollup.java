@@ -0,0 +1,48 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the trainings of a user of one activity type started on one day.
+ * <p>
+ * Rollups are maintained as trainings are written, so that time-windowed aggregates are computed from at most
+ * one row per day and activity type instead of every training in the window. The user is referenced by ID only,
+ * as rollups are only ever read aggregated. The unique constraint doubles as the index of the reads,
+ * which select the days of a user.
+ */
+@Entity
+@Table(name = "training_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_training_rollups_user_day_activity", columnNames = {"user_id", "training_day", "activity_type"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TrainingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_rollups_seq")
+    @SequenceGenerator(name = "training_rollups_seq", sequenceName = "training_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "training_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "trainings", nullable = false)
+    private int trainings;
+
+    @Column(name = "distance", nullable = false)
+    private double distance;
+
+    @Column(name = "calories_burned", nullable = false)
+    private int caloriesBurned;
+}
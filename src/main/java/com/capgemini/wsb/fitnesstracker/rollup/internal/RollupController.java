@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupDto;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupPeriod;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller serving weekly, monthly and yearly training aggregates of users, computed from the daily rollups.
+ * <p>
+ * Every endpoint takes an optional window: {@code to} defaults to today and {@code from} to the start of
+ * the last 12 weeks, the last 12 months or the last 5 years. The {@code activityType} parameter restricts
+ * the aggregates to one activity type.
+ */
+@RestController
+@RequestMapping("/v1/rollups")
+@RequiredArgsConstructor
+public class RollupController {
+
+    private final RollupServiceImpl rollupService;
+    private final UserProvider userProvider;
+
+    /**
+     * Retrieves the totals of the trainings of a user per ISO week.
+     *
+     * @param userId       the ID of the user
+     * @param from         the first day of the window
+     * @param to           the last day of the window
+     * @param activityType the activity type of the aggregated trainings, all of them when not given
+     * @return the totals of every week with trainings, ordered by week
+     * @throws UserNotFoundException if the user is not found
+     * @throws BusinessException     if the window ends before it starts
+     */
+    @GetMapping("/user/{userId}/weekly")
+    public List<RollupDto> getWeeklyRollups(@PathVariable Long userId,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(required = false) ActivityType activityType) {
+        return getRollups(userId, RollupPeriod.WEEK, from, to, activityType);
+    }
+
+    /**
+     * Retrieves the totals of the trainings of a user per calendar month.
+     *
+     * @param userId       the ID of the user
+     * @param from         the first day of the window
+     * @param to           the last day of the window
+     * @param activityType the activity type of the aggregated trainings, all of them when not given
+     * @return the totals of every month with trainings, ordered by month
+     * @throws UserNotFoundException if the user is not found
+     * @throws BusinessException     if the window ends before it starts
+     */
+    @GetMapping("/user/{userId}/monthly")
+    public List<RollupDto> getMonthlyRollups(@PathVariable Long userId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(required = false) ActivityType activityType) {
+        return getRollups(userId, RollupPeriod.MONTH, from, to, activityType);
+    }
+
+    /**
+     * Retrieves the totals of the trainings of a user per calendar year.
+     *
+     * @param userId       the ID of the user
+     * @param from         the first day of the window
+     * @param to           the last day of the window
+     * @param activityType the activity type of the aggregated trainings, all of them when not given
+     * @return the totals of every year with trainings, ordered by year
+     * @throws UserNotFoundException if the user is not found
+     * @throws BusinessException     if the window ends before it starts
+     */
+    @GetMapping("/user/{userId}/yearly")
+    public List<RollupDto> getYearlyRollups(@PathVariable Long userId,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(required = false) ActivityType activityType) {
+        return getRollups(userId, RollupPeriod.YEAR, from, to, activityType);
+    }
+
+    /**
+     * Rebuilds the rollups of all users from their trainings.
+     * As rollups are kept up to date on every training write, this is only needed to repair them.
+     *
+     * @return a ResponseEntity with a 200 OK once the rollups are rebuilt
+     */
+    @PutMapping("/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        rollupService.rebuildRollups();
+        return ResponseEntity.ok().build();
+    }
+
+    private List<RollupDto> getRollups(Long userId, RollupPeriod period, LocalDate from, LocalDate to, ActivityType activityType) {
+        if (userProvider.getUser(userId).isEmpty()) {
+            throw new UserNotFoundException(userId);
+        }
+        LocalDate windowEnd = to == null ? LocalDate.now() : to;
+        LocalDate windowStart = from == null ? period.defaultFrom(windowEnd) : from;
+        if (windowEnd.isBefore(windowStart)) {
+            throw new BusinessException("The end of the window must not be before its start");
+        }
+        return rollupService.getRollups(userId, period, windowStart, windowEnd, activityType);
+    }
+}
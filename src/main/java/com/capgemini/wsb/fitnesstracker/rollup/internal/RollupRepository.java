@@ -0,0 +1,86 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Calories;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+interface RollupRepository extends JpaRepository<TrainingRollup, Long> {
+
+    /**
+     * Totals of the trainings of a user in one period.
+     */
+    interface PeriodTotals {
+
+        LocalDate getPeriodStart();
+
+        int getTrainings();
+
+        double getDistance();
+
+        int getCaloriesBurned();
+    }
+
+    /**
+     * Sums up the rollups of a user per period. Reads at most one row per day and activity type of the window,
+     * using the unique index on the user, the day and the activity type, whatever the number of trainings of the user.
+     *
+     * @param userId        the ID of the user
+     * @param period        the name of the {@code RollupPeriod} to aggregate by
+     * @param from          the first day of the window, inclusive
+     * @param to            the last day of the window, inclusive
+     * @param activityTypes the ordinals of the activity types to sum up
+     * @return the totals of every period with trainings, ordered by period
+     */
+    @Query(value = """
+            SELECT periodStart, SUM(trainings) AS trainings, SUM(distance) AS distance, SUM(calories_burned) AS caloriesBurned
+            FROM (SELECT CASE :period
+                             WHEN 'WEEK' THEN DATE_TRUNC('ISO_WEEK', training_day)
+                             WHEN 'MONTH' THEN DATE_TRUNC('MONTH', training_day)
+                             ELSE DATE_TRUNC('YEAR', training_day) END AS periodStart,
+                         trainings, distance, calories_burned
+                  FROM training_rollups
+                  WHERE user_id = :userId
+                    AND training_day BETWEEN :from AND :to
+                    AND activity_type IN (:activityTypes)) rollups
+            GROUP BY periodStart
+            HAVING SUM(trainings) > 0
+            ORDER BY periodStart
+            """, nativeQuery = true)
+    List<PeriodTotals> sumByPeriod(@Param("userId") Long userId,
+                                   @Param("period") String period,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("activityTypes") Collection<Integer> activityTypes);
+
+    /**
+     * Deletes all rollups.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM training_rollups", nativeQuery = true)
+    void deleteAllRollups();
+
+    /**
+     * Creates the rollups of all trainings in a single set-based statement; the rollups must be empty.
+     * The calories of every training are computed by {@link Calories#SQL_BURNED}.
+     *
+     * @return the number of created rollups
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO training_rollups (id, user_id, training_day, activity_type, trainings, distance, calories_burned)
+            SELECT NEXT VALUE FOR training_rollups_seq, user_id, training_day, activity_type, trainings, distance, calories_burned
+            FROM (SELECT t.user_id, CAST(t.start_time AS DATE) AS training_day, t.activity_type, COUNT(*) AS trainings,
+                         SUM(t.distance) AS distance,
+            """ + "SUM(" + Calories.SQL_BURNED + ") AS calories_burned\n" + """
+                  FROM trainings t
+                  GROUP BY t.user_id, CAST(t.start_time AS DATE), t.activity_type) totals
+            """, nativeQuery = true)
+    int insertAllFromTrainings();
+}
@@ -0,0 +1,119 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupChange;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupDto;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupPeriod;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupProvider;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Service implementation maintaining the daily rollups of trainings and serving period aggregates from them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RollupServiceImpl implements RollupService, RollupProvider {
+
+    private static final String ADD_TO_ROLLUP = """
+            MERGE INTO training_rollups r
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS INTEGER),
+                           CAST(? AS INTEGER), CAST(? AS DOUBLE PRECISION), CAST(? AS INTEGER)))
+                AS c(user_id, training_day, activity_type, trainings, distance, calories_burned)
+            ON r.user_id = c.user_id AND r.training_day = c.training_day AND r.activity_type = c.activity_type
+            WHEN MATCHED THEN UPDATE SET
+                trainings = r.trainings + c.trainings,
+                distance = r.distance + c.distance,
+                calories_burned = r.calories_burned + c.calories_burned
+            WHEN NOT MATCHED THEN INSERT (id, user_id, training_day, activity_type, trainings, distance, calories_burned)
+                VALUES (NEXT VALUE FOR training_rollups_seq, c.user_id, c.training_day, c.activity_type, c.trainings, c.distance, c.calories_burned)
+            """;
+    private static final int BATCH_SIZE = 500;
+    private static final List<Integer> ALL_ACTIVITY_TYPES = Arrays.stream(ActivityType.values()).map(Enum::ordinal).toList();
+
+    private final RollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the given changes to the rollups with batched upserts.
+     * The users of the changes are locked first, in ascending ID order, so that concurrent first trainings of
+     * a user on the same day cannot both insert the rollup.
+     *
+     * @param changes the changes to apply
+     */
+    @Override
+    @Transactional
+    public void addToRollups(Collection<RollupChange> changes) {
+        Map<RollupKey, RollupChange> merged = new LinkedHashMap<>();
+        changes.forEach(change -> merged.merge(new RollupKey(change.userId(), change.day(), change.activityType()), change, RollupChange::add));
+        merged.values().removeIf(RollupChange::isEmpty);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        TreeSet<Long> userIds = new TreeSet<>();
+        merged.values().forEach(change -> userIds.add(change.userId()));
+        userRepository.findAllByIdForUpdate(userIds);
+
+        jdbcTemplate.batchUpdate(ADD_TO_ROLLUP, merged.values(), BATCH_SIZE, (statement, change) -> {
+            statement.setLong(1, change.userId());
+            statement.setDate(2, Date.valueOf(change.day()));
+            statement.setInt(3, change.activityType().ordinal());
+            statement.setInt(4, change.trainings());
+            statement.setDouble(5, change.distance());
+            statement.setInt(6, change.caloriesBurned());
+        });
+    }
+
+    /**
+     * Rebuilds all rollups from the trainings with two set-based statements.
+     *
+     * @return the number of rollups
+     */
+    @Override
+    @Transactional
+    public int rebuildRollups() {
+        rollupRepository.deleteAllRollups();
+        int rollups = rollupRepository.insertAllFromTrainings();
+        log.info("Rebuilt {} training rollups", rollups);
+        return rollups;
+    }
+
+    /**
+     * Retrieves the totals of the trainings of a user per period, read from the rollups only.
+     *
+     * @param userId       the ID of the user whose trainings are aggregated
+     * @param period       the length of the periods
+     * @param from         the first day of the window, inclusive
+     * @param to           the last day of the window, inclusive
+     * @param activityType the activity type of the aggregated trainings, {@code null} for all of them
+     * @return the totals of every period with trainings, ordered by period
+     */
+    @Override
+    public List<RollupDto> getRollups(Long userId, RollupPeriod period, LocalDate from, LocalDate to, @Nullable ActivityType activityType) {
+        List<Integer> activityTypes = activityType == null ? ALL_ACTIVITY_TYPES : List.of(activityType.ordinal());
+        return rollupRepository.sumByPeriod(userId, period.name(), from, to, activityTypes).stream()
+                .map(totals -> new RollupDto(totals.getPeriodStart(), totals.getTrainings(), totals.getDistance(), totals.getCaloriesBurned()))
+                .toList();
+    }
+
+    private record RollupKey(Long userId, LocalDate day, ActivityType activityType) {
+    }
+}
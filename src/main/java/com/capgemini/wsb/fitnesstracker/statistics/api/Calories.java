@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+
+/**
+ * Calculation of the calories burned during a training, from its distance and a multiplier per activity type.
+ */
+public final class Calories {
+
+    /**
+     * SQL expression of the calories burned during a training of the {@code trainings} table aliased {@code t},
+     * computed as {@link #burned} does, with the activity type keyed by its ordinal and the result truncated
+     * to a whole number. Every native statement summing calories from the trainings uses it.
+     */
+    public static final String SQL_BURNED = """
+            FLOOR(t.distance * CASE t.activity_type
+                WHEN 0 THEN 60
+                WHEN 1 THEN 40
+                WHEN 2 THEN 35
+                ELSE 50 END)""";
+
+    private Calories() {
+    }
+
+    /**
+     * Calculates the number of calories burned during a given training session.
+     * The calorie burn is calculated based on the activity type (Running, Cycling, Walking, etc.);
+     * {@link #SQL_BURNED} must be kept in line with it.
+     *
+     * @param training the training session for which to calculate calories burned
+     * @return the number of calories burned during the training session
+     */
+    public static double burned(Training training) {
+        return switch (training.getActivityType()) {
+            case RUNNING -> training.getDistance() * 60;
+            case CYCLING -> training.getDistance() * 40;
+            case WALKING -> training.getDistance() * 35;
+            default -> training.getDistance() * 50;
+        };
+    }
+}
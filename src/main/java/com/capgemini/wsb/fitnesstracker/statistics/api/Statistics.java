@@ -3,9 +3,14 @@ package com.capgemini.wsb.fitnesstracker.statistics.api;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "statistics")
+@Table(name = "statistics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_statistics_user", columnNames = "user_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "statistics")
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -13,10 +18,11 @@ import lombok.*;
 public class Statistics {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_seq")
+    @SequenceGenerator(name = "statistics_seq", sequenceName = "statistics_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @OneToOne
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -29,6 +35,15 @@ public class Statistics {
     @Column(name = "total_calories_burned")
     private int totalCaloriesBurned;
 
+    /**
+     * Version of the statistics, incremented by every native statement changing the totals, so that external readers
+     * can tell whether the statistics changed. The statistics are not written through Hibernate, which therefore
+     * never checks it: it is no concurrency guard, the updates are serialized by the lock of the user row instead.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Statistics(final User user, final int totalTrainings, final double totalDistance, final int totalCaloriesBurned) {
         this.user = user;
         this.totalTrainings = totalTrainings;
@@ -1,5 +1,9 @@
 package com.capgemini.wsb.fitnesstracker.statistics.api;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,23 @@ public interface StatisticsProvider {
 
     List<Statistics> getAllStatistics();
 
+    /**
+     * Retrieves a page of statistics, for offset based pagination.
+     *
+     * @param pageable the page of statistics to return
+     * @return a page of statistics
+     */
+    Page<Statistics> getAllStatistics(Pageable pageable);
+
+    /**
+     * Retrieves up to {@code limit} statistics with an ID greater than the given one, ordered by ID (keyset pagination).
+     *
+     * @param lastId the ID of the last statistics of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of statistics to return
+     * @return a slice of statistics, telling whether there are more statistics after it
+     */
+    Slice<Statistics> getStatisticsAfter(long lastId, int limit);
+
     /**
      * Retrieve all statistics where totalCaloriesBurned is greater than the specified value.
      *
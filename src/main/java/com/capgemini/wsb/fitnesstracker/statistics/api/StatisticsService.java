@@ -1,8 +1,11 @@
 package com.capgemini.wsb.fitnesstracker.statistics.api;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingTotals;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 /**
  * Service interface for managing user statistics in the fitness tracker application.
  * This includes functionalities to create, update, delete, and retrieve statistics for users.
@@ -39,15 +42,48 @@ public interface StatisticsService {
      */
     boolean deleteStatisticsByUserId(Long userId);
 
+    /**
+     * Add the given values to the statistics of a user, after one of the user's trainings was created or changed.
+     * The user row is locked until the end of the current transaction, then the totals are incremented atomically,
+     * so concurrent training writes and recomputations of the statistics of the same user are all accounted for.
+     * If the user has no statistics yet, they are computed from all trainings of the user instead,
+     * which already include the change, so this method must be called after the training was saved.
+     *
+     * @param userId         the ID of the user whose statistics are to be changed
+     * @param trainings      the change of the number of trainings
+     * @param distance       the change of the total distance
+     * @param caloriesBurned the change of the total calories burned
+     */
+    void addToStatistics(Long userId, int trainings, double distance, int caloriesBurned);
+
+    /**
+     * Add the given totals to the statistics of their users, after trainings of many users were created at once.
+     * Behaves as {@link #addToStatistics(Long, int, double, int)} for every user, with batched statements;
+     * the users are locked in ascending ID order.
+     *
+     * @param totalsByUser the changes of the totals, by user ID
+     */
+    void addToStatistics(Map<Long, TrainingTotals> totalsByUser);
+
     /**
      * Update statistics for a specific user.
-     * This method updates the statistics for the user based on their most recent training sessions.
-     * It recalculates the total number of trainings, total distance, and total calories burned.
+     * This method recalculates the total number of trainings, total distance, and total calories burned
+     * from all trainings of the user. As the statistics are kept up to date on every training write,
+     * it is only needed to repair statistics that went out of sync.
      *
      * @param userId the ID of the user whose statistics should be updated
      */
     void updateStatisticsForUser(Long userId);
 
+    /**
+     * Update statistics for all users at once.
+     * This method recalculates the statistics of every user from their trainings in the database,
+     * creating the statistics of users who have none yet.
+     *
+     * @return the number of created or updated statistics
+     */
+    int updateStatisticsForAllUsers();
+
     /**
      * Calculate the number of calories burned during a training session.
      * This method calculates the total calories burned based on the type of training and its associated distance.
@@ -0,0 +1,88 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the caches in front of the statistics endpoints.
+ * The {@link StatisticsCacheProperties} class contains the time to live and the size bound of the caches.
+ * <p>
+ * Both caches are Caffeine caches bounded by weight: a single statistics weighs one, a page of statistics
+ * weighs the number of statistics it contains. They record statistics, which Micrometer publishes as
+ * {@code cache.gets} and {@code cache.evictions}. As Micrometer only publishes the load times of loading caches,
+ * the {@code cache.load.duration} timer is registered here, along with a {@code cache.hit.ratio} gauge.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(StatisticsCacheProperties.class)
+class StatisticsCacheConfig {
+
+    /**
+     * Statistics by the ID of their user; users without statistics are cached as well.
+     */
+    static final String STATISTICS_BY_USER = "statisticsByUser";
+
+    /**
+     * Pages of the statistics of all users, by offset or by keyset.
+     */
+    static final String STATISTICS_PAGES = "statisticsPages";
+
+    /**
+     * Evictions are deferred until the surrounding transaction commits, so that a concurrent read
+     * cannot cache the statistics as they were before the commit right after they were evicted.
+     */
+    @Bean
+    CacheManager cacheManager(StatisticsCacheProperties statisticsCacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(STATISTICS_BY_USER, buildCache(statisticsCacheProperties));
+        cacheManager.registerCustomCache(STATISTICS_PAGES, buildCache(statisticsCacheProperties));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    MeterBinder cacheStatisticsMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                Gauge.builder("cache.hit.ratio", caffeineCache.getNativeCache(), nativeCache -> nativeCache.stats().hitRate())
+                        .description("The ratio of cache requests which were hits")
+                        .tag("cache", name)
+                        .register(registry);
+                FunctionTimer.builder("cache.load.duration", caffeineCache.getNativeCache(),
+                                nativeCache -> nativeCache.stats().loadCount(),
+                                nativeCache -> nativeCache.stats().totalLoadTime(),
+                                TimeUnit.NANOSECONDS)
+                        .description("The time the cache has spent loading new values")
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(StatisticsCacheProperties statisticsCacheProperties) {
+        return Caffeine.newBuilder()
+                .maximumWeight(statisticsCacheProperties.getMaximumWeight())
+                .weigher((key, value) -> value instanceof Slice<?> slice ? Math.max(1, slice.getNumberOfElements()) : 1)
+                .expireAfterWrite(statisticsCacheProperties.getTtl())
+                .recordStats()
+                .build();
+    }
+}
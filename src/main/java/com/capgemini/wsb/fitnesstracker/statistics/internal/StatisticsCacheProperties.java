@@ -0,0 +1,27 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the caches of statistics read by the statistics endpoints.
+ */
+@ConfigurationProperties(prefix = "statistics.cache")
+@Getter
+@Setter
+public class StatisticsCacheProperties {
+
+    /**
+     * Time after which a cached entry is reloaded. Bounds how long user details, which are not evicted
+     * from the statistics when the user changes, may be served stale.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Maximal number of statistics held by each cache; a cached page counts as many statistics as it contains.
+     */
+    private long maximumWeight = 100_000;
+}
@@ -1,5 +1,6 @@
 package com.capgemini.wsb.fitnesstracker.statistics.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
 import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
 import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsDto;
 import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsMapper;
@@ -27,17 +28,29 @@ public class StatisticsController {
     private final UserServiceImpl userService;
 
     /**
-     * Retrieves all statistics for all users.
+     * Retrieves a page of statistics of all users, ordered by ID.
+     * <p>
+     * By default the statistics are paged by keyset: the {@value Pagination#NEXT_CURSOR_HEADER} response header
+     * holds the cursor of the next page, absent on the last one. When the {@code page} parameter is given,
+     * offset based paging is used instead and the total number of statistics is returned in the
+     * {@value Pagination#TOTAL_COUNT_HEADER} header.
      *
-     * @return a ResponseEntity containing a list of all statistics in DTO format
+     * @param cursor the cursor of the page to return, {@code null} for the first page
+     * @param limit  the number of statistics per page, at most {@value Pagination#MAX_PAGE_SIZE}
+     * @param page   the zero-based number of the page to return when paging by offset
+     * @return a ResponseEntity containing a page of statistics in DTO format
      */
     @GetMapping
-    public ResponseEntity<List<StatisticsDto>> getAllStatistics() {
-        List<Statistics> statistics = statisticsService.getAllStatistics();
-        List<StatisticsDto> statisticsDto = statistics.stream()
-                .map(StatisticsMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(statisticsDto);
+    public ResponseEntity<List<StatisticsDto>> getAllStatistics(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) Integer page) {
+        if (page != null) {
+            return Pagination.pageResponse(statisticsService.getAllStatistics(Pagination.offsetPage(page, limit)), StatisticsMapper::toDto);
+        }
+        return Pagination.keysetResponse(
+                statisticsService.getStatisticsAfter(Pagination.decodeCursor(cursor), Pagination.pageSize(limit)),
+                Statistics::getId,
+                StatisticsMapper::toDto);
     }
 
     /**
@@ -112,6 +125,18 @@ public class StatisticsController {
         }
     }
 
+    /**
+     * Updates the statistics of all users from their trainings.
+     * As statistics are kept up to date on every training write, this is only needed to repair them.
+     *
+     * @return a ResponseEntity with a 200 OK once the statistics are updated
+     */
+    @PutMapping("/update")
+    public ResponseEntity<Void> updateStatisticsForAllUsers() {
+        statisticsService.updateStatisticsForAllUsers();
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Retrieves statistics for users who have burned more calories than a specified value.
      *
@@ -1,20 +1,77 @@
 package com.capgemini.wsb.fitnesstracker.statistics.internal;
 
+import com.capgemini.wsb.fitnesstracker.statistics.api.Calories;
 import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * The table changed by the native statements, so that Hibernate evicts only the cached statistics
+     * and the cached queries reading them, instead of the whole second-level cache.
+     */
+    String STATISTICS_TABLE = "statistics";
+
+    /**
+     * Start of the statements merging the totals computed from the trainings into the statistics,
+     * up to the filter of the users. The calories of every training are computed by {@link Calories#SQL_BURNED}.
+     */
+    String MERGE_TOTALS_OF_USERS = """
+            MERGE INTO statistics s
+            USING (SELECT u.id AS user_id,
+                          COUNT(t.id) AS total_trainings,
+                          COALESCE(SUM(t.distance), 0) AS total_distance,
+            """ + "COALESCE(SUM(" + Calories.SQL_BURNED + "), 0) AS total_calories_burned\n" + """
+                   FROM users u
+                   LEFT JOIN trainings t ON t.user_id = u.id
+            """;
+
+    /**
+     * End of the statements merging the totals computed from the trainings into the statistics.
+     */
+    String MERGE_TOTALS = """
+                   GROUP BY u.id) totals
+            ON s.user_id = totals.user_id
+            WHEN MATCHED THEN UPDATE SET
+                total_trainings = totals.total_trainings,
+                total_distance = totals.total_distance,
+                total_calories_burned = totals.total_calories_burned,
+                version = s.version + 1
+            WHEN NOT MATCHED THEN INSERT (id, user_id, total_trainings, total_distance, total_calories_burned, version)
+                VALUES (NEXT VALUE FOR statistics_seq, totals.user_id, totals.total_trainings, totals.total_distance, totals.total_calories_burned, 0)
+            """;
+
     /**
      * Find statistics by user ID.
+     * The result is kept in the query cache, invalidated whenever the statistics table changes.
      *
      * @param userId the ID of the user whose statistics are to be retrieved
      * @return an optional containing the statistics, if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Statistics> findByUserId(Long userId);
 
+    /**
+     * Retrieves a slice of statistics with an ID greater than the given one (keyset pagination).
+     *
+     * @param id       the ID after which statistics should be returned
+     * @param pageable the size and sort order of the slice
+     * @return a slice of statistics with an ID greater than the given one
+     */
+    Slice<Statistics> findByIdGreaterThan(Long id, Pageable pageable);
+
     /**
      * Retrieves all statistics where calories are greater than the specified value.
      *
@@ -23,4 +80,92 @@ public interface StatisticsRepository extends JpaRepository<Statistics, Long> {
      */
     List<Statistics> findByTotalCaloriesBurnedGreaterThan(int calories);
 
+    /**
+     * Atomically adds the given values to the totals of the statistics of a user.
+     * The totals are incremented by the database, so concurrent calls for the same user do not lose updates,
+     * and so is the version, so that a concurrent read-modify-write update of the same statistics fails.
+     * Statistics already loaded in the current persistence context are not refreshed.
+     *
+     * @param userId         the ID of the user whose statistics are to be changed
+     * @param trainings      the number to add to the total number of trainings
+     * @param distance       the distance to add to the total distance
+     * @param caloriesBurned the calories to add to the total calories burned
+     * @return the number of updated statistics, {@code 0} if the user has no statistics yet
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATISTICS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE statistics SET total_trainings = total_trainings + :trainings, "
+            + "total_distance = total_distance + :distance, "
+            + "total_calories_burned = total_calories_burned + :caloriesBurned, "
+            + "version = version + 1 "
+            + "WHERE user_id = :userId", nativeQuery = true)
+    int addToTotals(@Param("userId") Long userId,
+                    @Param("trainings") int trainings,
+                    @Param("distance") double distance,
+                    @Param("caloriesBurned") int caloriesBurned);
+
+    /**
+     * Creates or replaces the totals of the statistics of a user in a single statement,
+     * instead of reading the statistics and saving them back.
+     *
+     * @param userId         the ID of the user whose statistics are to be set
+     * @param trainings      the total number of trainings
+     * @param distance       the total distance
+     * @param caloriesBurned the total calories burned
+     * @return the number of created or updated statistics, {@code 0} if the user does not exist
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATISTICS_TABLE))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            MERGE INTO statistics s
+            USING (SELECT u.id AS user_id FROM users u WHERE u.id = :userId) c
+            ON s.user_id = c.user_id
+            WHEN MATCHED THEN UPDATE SET
+                total_trainings = :trainings,
+                total_distance = :distance,
+                total_calories_burned = :caloriesBurned,
+                version = s.version + 1
+            WHEN NOT MATCHED THEN INSERT (id, user_id, total_trainings, total_distance, total_calories_burned, version)
+                VALUES (NEXT VALUE FOR statistics_seq, c.user_id, :trainings, :distance, :caloriesBurned, 0)
+            """, nativeQuery = true)
+    int upsertTotals(@Param("userId") Long userId,
+                     @Param("trainings") int trainings,
+                     @Param("distance") double distance,
+                     @Param("caloriesBurned") int caloriesBurned);
+
+    /**
+     * Resets the totals of the statistics of a user to zero.
+     *
+     * @param userId the ID of the user whose statistics are to be reset
+     * @return the number of reset statistics, {@code 0} if the user has no statistics
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATISTICS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE statistics SET total_trainings = 0, total_distance = 0, total_calories_burned = 0, "
+            + "version = version + 1 WHERE user_id = :userId", nativeQuery = true)
+    int resetTotals(@Param("userId") Long userId);
+
+    /**
+     * Recomputes the statistics of the given users from their trainings in a single set-based statement,
+     * creating the statistics of users who have none yet, as {@link #recomputeAll()} does for all users.
+     *
+     * @param userIds the IDs of the users whose statistics are to be recomputed
+     * @return the number of created or updated statistics
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATISTICS_TABLE))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = MERGE_TOTALS_OF_USERS + "WHERE u.id IN (:userIds)\n" + MERGE_TOTALS, nativeQuery = true)
+    int recomputeForUsers(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Recomputes the statistics of all users from their trainings in a single set-based statement,
+     * creating the statistics of users who have none yet. Users without trainings get zero totals.
+     * The calories of every training are computed by {@link Calories#SQL_BURNED}.
+     *
+     * @return the number of created or updated statistics
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATISTICS_TABLE))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = MERGE_TOTALS_OF_USERS + MERGE_TOTALS, nativeQuery = true)
+    int recomputeAll();
 }
@@ -1,33 +1,70 @@
 package com.capgemini.wsb.fitnesstracker.statistics.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Calories;
 import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
 import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
 import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
-import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingTotals;
 import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+
+import static com.capgemini.wsb.fitnesstracker.statistics.internal.StatisticsCacheConfig.STATISTICS_BY_USER;
+import static com.capgemini.wsb.fitnesstracker.statistics.internal.StatisticsCacheConfig.STATISTICS_PAGES;
 
 /**
  * Service implementation for handling statistics-related operations.
  * This service handles CRUD operations for user statistics and provides functionality
  * such as retrieving, creating, updating, and deleting user statistics.
  * It also provides functionality to calculate calories burned based on different activity types.
+ * <p>
+ * The statistics of a user and the pages of statistics read by the statistics endpoints are cached,
+ * see {@link StatisticsCacheConfig}. Every method changing statistics evicts them once its transaction commits.
+ * Cached statistics are shared between callers and must not be modified.
+ * <p>
+ * The statistics are written with single native statements, upserts or increments, instead of being read,
+ * changed and saved. The updates of the statistics endpoints are run by {@link StatisticsUpdater}, serialized
+ * per user and retried when they conflict with a concurrent change; the trainings change the totals
+ * with atomic increments, which need neither.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "fitnesstracker.service", histogram = true)
 public class StatisticsServiceImpl implements StatisticsService, StatisticsProvider {
 
+    private static final String ADD_TO_TOTALS = "UPDATE statistics SET total_trainings = total_trainings + ?, "
+            + "total_distance = total_distance + ?, total_calories_burned = total_calories_burned + ?, "
+            + "version = version + 1 WHERE user_id = ?";
+    private static final int BATCH_SIZE = 500;
+
     private final StatisticsRepository statisticsRepository;
     private final UserRepository userRepository;
-    private final TrainingRepository trainingRepository;
+    private final StatisticsUpdater statisticsUpdater;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Retrieves a statistics based on user ID.
@@ -37,6 +74,7 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
      * @return An {@link Optional} containing the located Statistics, or {@link Optional#empty()} if not found
      */
     @Override
+    @Cacheable(cacheNames = STATISTICS_BY_USER, sync = true)
     public Optional<Statistics> getStatisticsById(Long userId) {
         return statisticsRepository.findByUserId(userId);
     }
@@ -49,6 +87,31 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
         return statisticsRepository.findAll();
     }
 
+    /**
+     * Retrieves a page of statistics, for offset based pagination.
+     *
+     * @param pageable the page of statistics to return
+     * @return a page of statistics
+     */
+    @Override
+    @Cacheable(cacheNames = STATISTICS_PAGES, sync = true)
+    public Page<Statistics> getAllStatistics(Pageable pageable) {
+        return statisticsRepository.findAll(pageable);
+    }
+
+    /**
+     * Retrieves up to {@code limit} statistics with an ID greater than the given one, ordered by ID.
+     *
+     * @param lastId the ID of the last statistics of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of statistics to return
+     * @return a slice of statistics, telling whether there are more statistics after it
+     */
+    @Override
+    @Cacheable(cacheNames = STATISTICS_PAGES, sync = true)
+    public Slice<Statistics> getStatisticsAfter(long lastId, int limit) {
+        return statisticsRepository.findByIdGreaterThan(lastId, Pagination.keysetPage(limit));
+    }
+
     /**
      * Retrieve all statistics where totalCaloriesBurned is greater than the specified value.
      *
@@ -63,13 +126,16 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
     /**
      * Create or update statistics for a user.
      * This will either create new statistics if they don't exist,
-     * or update existing ones.
+     * or update existing ones, with a single upsert statement.
      *
      * @param statistics the statistics object to save or update
      * @return the saved or updated statistics
      */
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STATISTICS_BY_USER, key = "#statistics.user.id"),
+            @CacheEvict(cacheNames = STATISTICS_PAGES, allEntries = true)
+    })
     public Statistics saveStatistics(Statistics statistics) {
         if (statistics.getUser() == null)
             throw new IllegalArgumentException("User must not be null for statistics");
@@ -78,20 +144,13 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
         if (userId == null)
             throw new IllegalArgumentException("User ID must not be null");
 
-        if (userRepository.findById(userId).isEmpty())
-            throw new IllegalArgumentException("User does not exist for statistics");
-
-        Optional<Statistics> existingStatistics = statisticsRepository.findByUserId(userId);
-        if (existingStatistics.isPresent()) {
-            Statistics stats = existingStatistics.get();
-            stats.setTotalTrainings(statistics.getTotalTrainings());
-            stats.setTotalDistance(statistics.getTotalDistance());
-            stats.setTotalCaloriesBurned(statistics.getTotalCaloriesBurned());
+        return statisticsUpdater.update(userId, () -> {
+            if (statisticsRepository.upsertTotals(userId, statistics.getTotalTrainings(),
+                    statistics.getTotalDistance(), statistics.getTotalCaloriesBurned()) == 0)
+                throw new IllegalArgumentException("User does not exist for statistics");
 
-            return statisticsRepository.save(stats);
-        }
-
-        return statisticsRepository.save(statistics);
+            return statisticsRepository.findByUserId(userId).orElseThrow();
+        });
     }
 
 
@@ -101,6 +160,7 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
      * @param statisticsId the ID of the statistics to delete
      */
     @Override
+    @CacheEvict(cacheNames = {STATISTICS_BY_USER, STATISTICS_PAGES}, allEntries = true)
     public void deleteStatisticsById(Long statisticsId) {
         statisticsRepository.deleteById(statisticsId);
     }
@@ -111,76 +171,141 @@ public class StatisticsServiceImpl implements StatisticsService, StatisticsProvi
      * @param userId the ID of the user whose statistics are to be deleted
      */
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STATISTICS_BY_USER, key = "#userId"),
+            @CacheEvict(cacheNames = STATISTICS_PAGES, allEntries = true)
+    })
     public boolean deleteStatisticsByUserId(Long userId) {
-        Optional<Statistics> existingStatistics = statisticsRepository.findByUserId(userId);
-
-        if (existingStatistics.isPresent()) {
-            Statistics stats = existingStatistics.get();
+        return statisticsUpdater.update(userId, () -> statisticsRepository.resetTotals(userId) > 0);
+    }
 
-            stats.setTotalTrainings(0);
-            stats.setTotalDistance(0.0);
-            stats.setTotalCaloriesBurned(0);
+    /**
+     * Adds the given values to the statistics of a user.
+     * The user row is locked first, so that the increment is serialized with {@link #updateStatisticsForUser}
+     * and with concurrent first trainings of the same user, which create a single statistics record.
+     * The totals are then incremented in the database; if the user has no statistics yet,
+     * they are computed from all trainings of the user instead.
+     *
+     * @param userId         the ID of the user whose statistics are to be changed
+     * @param trainings      the change of the number of trainings
+     * @param distance       the change of the total distance
+     * @param caloriesBurned the change of the total calories burned
+     */
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STATISTICS_BY_USER, key = "#userId"),
+            @CacheEvict(cacheNames = STATISTICS_PAGES, allEntries = true)
+    })
+    public void addToStatistics(Long userId, int trainings, double distance, int caloriesBurned) {
+        userRepository.findByIdForUpdate(userId).orElseThrow(() -> new IllegalStateException("User not found"));
+        if (statisticsRepository.addToTotals(userId, trainings, distance, caloriesBurned) == 0) {
+            statisticsRepository.recomputeForUsers(List.of(userId));
+        }
+    }
 
-            statisticsRepository.save(stats);
-            return true;
+    /**
+     * Adds the given totals to the statistics of their users, as {@link #addToStatistics(Long, int, double, int)}
+     * does for a single user: the users are locked first, in ascending ID order, then the increments are sent
+     * in JDBC batches of {@value #BATCH_SIZE}, and the statistics of the users without statistics yet
+     * are computed from all their trainings by a single upsert.
+     *
+     * @param totalsByUser the totals to add, by user ID
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {STATISTICS_BY_USER, STATISTICS_PAGES}, allEntries = true)
+    public void addToStatistics(Map<Long, TrainingTotals> totalsByUser) {
+        List<Map.Entry<Long, TrainingTotals>> changes = List.copyOf(new TreeMap<>(totalsByUser).entrySet());
+        if (changes.isEmpty()) {
+            return;
         }
 
-        return false;
+        userRepository.findAllByIdForUpdate(totalsByUser.keySet());
+        int[][] updated = jdbcTemplate.batchUpdate(ADD_TO_TOTALS, changes, BATCH_SIZE, (statement, change) -> {
+            statement.setInt(1, (int) change.getValue().trainings());
+            statement.setDouble(2, change.getValue().distance());
+            statement.setInt(3, (int) change.getValue().caloriesBurned());
+            statement.setLong(4, change.getKey());
+        });
+        evictCachedStatistics();
+
+        List<Long> withoutStatistics = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    withoutStatistics.add(changes.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        if (!withoutStatistics.isEmpty()) {
+            statisticsRepository.recomputeForUsers(withoutStatistics);
+        }
     }
 
     /**
-     * Updates statistics for a user based on their training data.
+     * Updates statistics for a user based on their training data, aggregated by the database.
      * If statistics already exist for the user, they are updated.
      * If statistics do not exist, a new record is created and saved.
+     * Both are done by a single upsert statement, with the user row locked. As {@link #addToStatistics} takes the same
+     * lock before incrementing the statistics, the statement sees the trainings of every increment it overwrites.
      *
      * @param userId the ID of the user whose statistics are to be updated
      */
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = STATISTICS_BY_USER, key = "#userId"),
+            @CacheEvict(cacheNames = STATISTICS_PAGES, allEntries = true)
+    })
     public void updateStatisticsForUser(Long userId) {
-        List<Training> userTrainings = trainingRepository.findByUserId(userId);
-        int totalTrainings = userTrainings.size();
-        double totalDistance = userTrainings.stream().mapToDouble(Training::getDistance).sum();
-        double totalCaloriesBurned = 0;
-
-        for (Training training : userTrainings)
-            totalCaloriesBurned += calculateCaloriesBurned(training);
-
-        Optional<Statistics> existingStatistics = statisticsRepository.findByUserId(userId);
-        Statistics statistics;
-
-        if (existingStatistics.isPresent()) {
-            statistics = existingStatistics.get();
-            statistics.setTotalTrainings(totalTrainings);
-            statistics.setTotalDistance(totalDistance);
-            statistics.setTotalCaloriesBurned((int) totalCaloriesBurned);
-        } else {
-            statistics = new Statistics(
-                    userRepository.findById(userId).orElseThrow(() -> new IllegalStateException("User not found")),
-                    totalTrainings,
-                    totalDistance,
-                    (int) totalCaloriesBurned
-            );
-        }
+        statisticsUpdater.update(userId, () -> {
+            userRepository.findByIdForUpdate(userId).orElseThrow(() -> new IllegalStateException("User not found"));
+            return statisticsRepository.recomputeForUsers(List.of(userId));
+        });
+    }
+
+    /**
+     * Updates statistics for all users in a single statement, aggregating the trainings in the database.
+     *
+     * @return the number of created or updated statistics
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {STATISTICS_BY_USER, STATISTICS_PAGES}, allEntries = true)
+    public int updateStatisticsForAllUsers() {
+        int updated = statisticsRepository.recomputeAll();
+        log.info("Recomputed statistics of {} users", updated);
+        return updated;
+    }
 
-        statisticsRepository.save(statistics);
+    /**
+     * Evicts the statistics from the second-level cache of Hibernate, which does not see the JDBC batches,
+     * now and once the current transaction completes, so that statistics read from the database in between
+     * are not cached as they were before the transaction.
+     */
+    private void evictCachedStatistics() {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Statistics.class);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Statistics.class);
+                }
+            });
+        }
     }
 
     /**
-     * Calculates the number of calories burned during a given training session.
-     * The calorie burn is calculated based on the activity type (Running, Cycling, Walking, etc.)
+     * Calculates the number of calories burned during a given training session, see {@link Calories#burned}.
      *
      * @param training the training session for which to calculate calories burned
      * @return the number of calories burned during the training session
      */
     @Override
     public double calculateCaloriesBurned(Training training) {
-        return switch (training.getActivityType()) {
-            case RUNNING -> training.getDistance() * 60;
-            case CYCLING -> training.getDistance() * 40;
-            case WALKING -> training.getDistance() * 35;
-            default -> training.getDistance() * 50;
-        };
+        return Calories.burned(training);
     }
 }
\ No newline at end of file
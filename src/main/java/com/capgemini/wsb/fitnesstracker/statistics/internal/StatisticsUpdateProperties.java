@@ -0,0 +1,26 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the read-modify-write updates of the statistics of a user, see {@link StatisticsUpdater}.
+ */
+@ConfigurationProperties(prefix = "statistics.update")
+@Getter
+@Setter
+public class StatisticsUpdateProperties {
+
+    /**
+     * Number of locks serializing the updates of the statistics of a user, each shared by the users whose ID
+     * falls on it. More stripes let more users be updated in parallel, at the cost of one lock each.
+     */
+    private int lockStripes = 64;
+
+    /**
+     * Maximal number of attempts of an update of the statistics of a user, including the first one,
+     * when it races with a concurrent creation of the same statistics.
+     */
+    private int maxAttempts = 3;
+}
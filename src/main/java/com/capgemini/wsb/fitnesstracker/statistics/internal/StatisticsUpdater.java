@@ -0,0 +1,81 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs the updates of the statistics of a user, each in its own transaction.
+ * <p>
+ * The updates of the same user are serialized by a lock, chosen by the user ID among a fixed number of stripes,
+ * so that they do not race with each other within this instance. The lock is held until the transaction of the
+ * update is committed, unless the update joins a transaction already in progress: the lock is then released
+ * when the update returns, before that transaction commits.
+ * <p>
+ * The optimistic locking on the {@code @Version} of the statistics, which guarded the former read-modify-write
+ * updates, was deliberately replaced by these native upserts and by the lock of the user row, which the increments
+ * of the training writes and the recomputations both take. Hibernate never writes the statistics, so the version
+ * is not checked and is no concurrency guard anymore.
+ * <p>
+ * The updates are single native statements, so the only conflict left is two upserts both creating the statistics
+ * of a user, from other instances or from the training writes, which do not take the lock. The unique constraint
+ * on the user of the statistics rejects one of them, which is retried in a new transaction, where it updates
+ * the created statistics, up to {@code statistics.update.max-attempts} times. An update joining a transaction
+ * already in progress is not retried, as that transaction cannot be committed anymore.
+ */
+@Component
+@EnableConfigurationProperties(StatisticsUpdateProperties.class)
+@Slf4j
+class StatisticsUpdater {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Lock[] locks;
+    private final int maxAttempts;
+
+    StatisticsUpdater(PlatformTransactionManager transactionManager, StatisticsUpdateProperties properties) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.locks = new Lock[Math.max(1, properties.getLockStripes())];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+    }
+
+    /**
+     * Runs the given update of the statistics of a user, with the lock of the user held.
+     * The update is run again from the start when retried.
+     *
+     * @param userId the ID of the user whose statistics are updated
+     * @param update the update, returning its result
+     * @param <T>    the type of the result of the update
+     * @return the result of the last attempt of the update
+     */
+    <T> T update(Long userId, Supplier<T> update) {
+        int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : maxAttempts;
+        Lock lock = locks[Math.floorMod(Objects.hashCode(userId), locks.length)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> update.get());
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt >= attempts) {
+                        throw e;
+                    }
+                    log.debug("Concurrent creation of the statistics of user {} (attempt {}), retrying: {}", userId, attempt, e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.capgemini.wsb.fitnesstracker.threading.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails the startup when virtual threads are enabled, for instance by the {@code virtual-threads} profile,
+ * on a Java version without them. Spring Boot would otherwise silently keep the platform thread pools.
+ */
+@Configuration
+@ConditionalOnProperty("spring.threads.virtual.enabled")
+@ConditionalOnJava(range = ConditionalOnJava.Range.OLDER_THAN, value = JavaVersion.TWENTY_ONE)
+class VirtualThreadsCheck {
+
+    VirtualThreadsCheck() {
+        throw new IllegalStateException("spring.threads.virtual.enabled needs Java 21 or newer, running on "
+                + Runtime.version());
+    }
+}
@@ -7,7 +7,11 @@ import lombok.*;
 
 import java.util.Date;
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", indexes = {
+        @Index(name = "idx_trainings_user_start_time", columnList = "user_id, start_time"),
+        @Index(name = "idx_trainings_end_time", columnList = "end_time"),
+        @Index(name = "idx_trainings_activity_type_start_time", columnList = "activity_type, start_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -15,7 +19,8 @@ import java.util.Date;
 public class Training {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainings_seq")
+    @SequenceGenerator(name = "trainings_seq", sequenceName = "trainings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
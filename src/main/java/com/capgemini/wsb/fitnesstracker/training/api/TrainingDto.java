@@ -5,6 +5,7 @@ import com.capgemini.wsb.fitnesstracker.user.internal.UserDto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.annotation.Nullable;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 public record TrainingDto(
@@ -15,4 +16,14 @@ public record TrainingDto(
         ActivityType activityType,
         double distance,
         double averageSpeed
-) {}
+) {
+
+    /**
+     * Flat constructor used by the JPQL constructor expressions of the training queries,
+     * so that a training and its user are read in a single row without loading the entities.
+     */
+    public TrainingDto(Long id, Long userId, String firstName, String lastName, LocalDate birthdate, String email,
+                       Date startTime, Date endTime, ActivityType activityType, double distance, double averageSpeed) {
+        this(id, new UserDto(userId, firstName, lastName, birthdate, email), startTime, endTime, activityType, distance, averageSpeed);
+    }
+}
@@ -1,9 +1,13 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for managing and retrieving {@link Training} objects from a training provider.
@@ -19,6 +23,32 @@ public interface TrainingProvider {
      */
     List<Training> findAllTrainings();
 
+    /**
+     * Retrieves a page of trainings, for offset based pagination.
+     *
+     * @param pageable the page of trainings to return
+     * @return a page of {@link Training} objects
+     */
+    Page<Training> findAllTrainings(Pageable pageable);
+
+    /**
+     * Retrieves up to {@code limit} trainings with an ID greater than the given one, ordered by ID (keyset pagination).
+     *
+     * @param lastId the ID of the last training of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of trainings to return
+     * @return a slice of {@link Training} objects, telling whether there are more trainings after it
+     */
+    Slice<Training> findTrainingsAfter(long lastId, int limit);
+
+    /**
+     * Passes all trainings, ordered by ID, one by one to the given consumer, as {@link TrainingDto} objects.
+     * The trainings are streamed from the database without being loaded as entities, so the memory use
+     * does not depend on the number of trainings.
+     *
+     * @param consumer the consumer of the trainings
+     */
+    void forEachTraining(Consumer<TrainingDto> consumer);
+
     /**
      * Retrieves a list of trainings that have ended after the specified date.
      *
@@ -27,6 +57,14 @@ public interface TrainingProvider {
      */
     List<Training> findTrainingsAfterDate(Date endDate);
 
+    /**
+     * Retrieves the trainings that have ended after the specified date as DTOs, ordered by ID.
+     *
+     * @param endDate the date after which the trainings must have ended
+     * @return a list of {@link TrainingDto} objects that ended after the provided date
+     */
+    List<TrainingDto> findTrainingDtosAfterDate(Date endDate);
+
     /**
      * Retrieves a list of all trainings for a specified user.
      *
@@ -35,6 +73,14 @@ public interface TrainingProvider {
      */
     List<Training> getTrainingsByUserId(Long userId);
 
+    /**
+     * Retrieves all trainings of a specified user as DTOs, ordered by ID.
+     *
+     * @param userId the ID of the user whose trainings are to be retrieved
+     * @return a list of {@link TrainingDto} objects associated with the specified user
+     */
+    List<TrainingDto> getTrainingDtosByUserId(Long userId);
+
     /**
      * Retrieves all trainings associated with a specific activity type.
      *
@@ -43,6 +89,14 @@ public interface TrainingProvider {
      */
     List<Training> getTrainingsByActivityType(ActivityType activityType);
 
+    /**
+     * Retrieves all trainings of a specific activity type as DTOs, ordered by ID.
+     *
+     * @param activityType the activity type to search for (e.g., RUNNING, CYCLING)
+     * @return a list of {@link TrainingDto} objects associated with the specified activity type
+     */
+    List<TrainingDto> getTrainingDtosByActivityType(ActivityType activityType);
+
     /**
      * Creates a new training entry.
      *
@@ -51,6 +105,14 @@ public interface TrainingProvider {
      */
     Training createTraining(Training training);
 
+    /**
+     * Creates all given training entries at once, inserting them in JDBC batches.
+     *
+     * @param trainings the trainings to create
+     * @return the created trainings, in the given order
+     */
+    List<Training> createTrainings(List<Training> trainings);
+
     /**
      * Updates an existing training entry.
      *
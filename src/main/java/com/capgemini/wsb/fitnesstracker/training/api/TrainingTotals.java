@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Totals over a set of trainings.
+ *
+ * @param trainings      the number of trainings
+ * @param distance       the sum of the distances of the trainings
+ * @param caloriesBurned the sum of the calories burned during the trainings, each truncated to a whole number
+ */
+public record TrainingTotals(long trainings, double distance, long caloriesBurned) {
+
+    /**
+     * Returns the totals over the trainings of both this and the other totals.
+     */
+    public TrainingTotals add(TrainingTotals other) {
+        return new TrainingTotals(trainings + other.trainings, distance + other.distance, caloriesBurned + other.caloriesBurned);
+    }
+}
@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Number of trainings of a single user, as counted by a grouped query.
+ *
+ * @param userId    the ID of the user
+ * @param trainings the number of trainings of the user
+ */
+public record UserTrainingCount(Long userId, long trainings) {}
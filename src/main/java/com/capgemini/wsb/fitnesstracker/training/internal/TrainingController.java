@@ -1,19 +1,37 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,20 +43,67 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TrainingController {
 
+    static final int MAX_BATCH_SIZE = 10_000;
+
     private final TrainingServiceImpl trainingService;
     private final TrainingMapper trainingMapper;
+    private final TrainingIngestService trainingIngestService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all trainings available in the system and converts them to TrainingDto.
+     * Retrieves a page of trainings available in the system, ordered by ID, and converts them to TrainingDto.
+     * <p>
+     * By default the trainings are paged by keyset: the {@value Pagination#NEXT_CURSOR_HEADER} response header
+     * holds the cursor of the next page, absent on the last one. When the {@code page} parameter is given,
+     * offset based paging is used instead and the total number of trainings is returned in the
+     * {@value Pagination#TOTAL_COUNT_HEADER} header.
      *
-     * @return A list of all {@link TrainingDto} objects.
+     * @param cursor the cursor of the page to return, {@code null} for the first page
+     * @param limit  the number of trainings per page, at most {@value Pagination#MAX_PAGE_SIZE}
+     * @param page   the zero-based number of the page to return when paging by offset
+     * @return A page of {@link TrainingDto} objects.
      */
     @GetMapping
-    public List<TrainingDto> getAllTrainings() {
-        return trainingService.findAllTrainings().stream()
-                .map(trainingMapper::toDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<TrainingDto>> getAllTrainings(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) Integer page) {
+        if (page != null) {
+            return Pagination.pageResponse(trainingService.findAllTrainings(Pagination.offsetPage(page, limit)), trainingMapper::toDto);
+        }
+        return Pagination.keysetResponse(
+                trainingService.findTrainingsAfter(Pagination.decodeCursor(cursor), Pagination.pageSize(limit)),
+                Training::getId,
+                trainingMapper::toDto);
+    }
+
+    /**
+     * Exports all trainings as newline delimited JSON ({@code application/x-ndjson}), one {@link TrainingDto} per line,
+     * ordered by ID. The trainings are streamed from the database straight to the response,
+     * so the memory use does not depend on the number of exported trainings.
+     *
+     * @param response the response to write the trainings to
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping("/export")
+    public void exportTrainings(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(TrainingDto.class);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            trainingService.forEachTraining(training -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(training));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
     }
 
     /**
@@ -50,9 +115,7 @@ public class TrainingController {
      */
     @GetMapping("/{userId}")
     public List<TrainingDto> getTrainingsByUser(@PathVariable Long userId) {
-        return trainingService.getTrainingsByUserId(userId).stream()
-                .map(trainingMapper::toDto)
-                .collect(Collectors.toList());
+        return trainingService.getTrainingDtosByUserId(userId);
     }
 
     /**
@@ -65,9 +128,7 @@ public class TrainingController {
     public List<TrainingDto> getFinishedTrainingsAfterTime(@PathVariable String afterTime) throws ParseException {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
         Date afterDate = sdf.parse(afterTime);
-        return trainingService.findTrainingsAfterDate(afterDate).stream()
-                .map(trainingMapper::toDto)
-                .collect(Collectors.toList());
+        return trainingService.findTrainingDtosAfterDate(afterDate);
     }
 
     /**
@@ -79,9 +140,7 @@ public class TrainingController {
      */
     @GetMapping("/activityType")
     public List<TrainingDto> getTrainingsByActivityType(@RequestParam ActivityType activityType) {
-        return trainingService.getTrainingsByActivityType(activityType).stream()
-                .map(trainingMapper::toDto)
-                .collect(Collectors.toList());
+        return trainingService.getTrainingDtosByActivityType(activityType);
     }
 
     /**
@@ -105,6 +164,72 @@ public class TrainingController {
         return trainingService.createTraining(training);
     }
 
+    /**
+     * Creates all given trainings at once, for bulk ingestion.
+     * <p>
+     * The users of the trainings are read with a single query and the trainings are inserted in JDBC batches,
+     * all in one transaction: either all trainings are created, or none is.
+     *
+     * @param trainingDtos the trainings to create, at most {@value #MAX_BATCH_SIZE}
+     * @return the created trainings, in the given order
+     * @throws BusinessException     if there are too many trainings or some training is invalid, see
+     *                               {@link TrainingValidation#validate}
+     * @throws UserNotFoundException if the user of some training does not exist
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TrainingDto> createTrainings(@RequestBody List<TrainingDto> trainingDtos) {
+        if (trainingDtos.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("At most %d trainings can be created at once".formatted(MAX_BATCH_SIZE));
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < trainingDtos.size(); i++) {
+            TrainingDto trainingDto = trainingDtos.get(i);
+            String error = TrainingValidation.validate(trainingDto);
+            if (error != null) {
+                throw new BusinessException("Invalid training at index %d: %s".formatted(i, error));
+            }
+            userIds.add(trainingDto.user().id());
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<Training> trainings = new ArrayList<>(trainingDtos.size());
+        for (TrainingDto trainingDto : trainingDtos) {
+            User user = users.get(trainingDto.user().id());
+            if (user == null) {
+                throw new UserNotFoundException(trainingDto.user().id());
+            }
+            Training training = trainingMapper.toEntity(trainingDto);
+            training.setUser(user);
+            trainings.add(training);
+        }
+        return trainingService.createTrainings(trainings).stream()
+                .map(trainingMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Ingests a stream of trainings, for devices synchronizing many trainings at once.
+     * <p>
+     * The body is a JSON array of {@link TrainingDto} objects or newline delimited JSON with one object per line.
+     * It is read incrementally and the trainings are stored in chunks, each in its own transaction, so a training
+     * rejected or failed does not prevent the others from being created. The response is newline delimited JSON
+     * with one {@link TrainingIngestResult} per training, in the order of the request, written as the chunks are
+     * stored.
+     *
+     * @param request  the request to read the trainings from
+     * @param response the response to write the outcome of every training to
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @PostMapping(path = "/ingest",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void ingestTrainings(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        trainingIngestService.ingest(request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * Updates an existing training with the given ID.
      * <p>
@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.Nullable;
+
+/**
+ * Outcome of the ingestion of a single training of a bulk ingest request.
+ *
+ * @param index  the zero-based position of the training in the request body
+ * @param status the outcome of the ingestion
+ * @param id     the ID of the created training, only when created
+ * @param error  the reason why the training was not created, otherwise
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TrainingIngestResult(int index, Status status, @Nullable Long id, @Nullable String error) {
+
+    public enum Status {
+        /**
+         * The training was created.
+         */
+        CREATED,
+        /**
+         * The training is invalid or could not be read, and was skipped.
+         */
+        REJECTED,
+        /**
+         * The training is valid, but storing it failed.
+         */
+        FAILED
+    }
+
+    static TrainingIngestResult created(int index, Long id) {
+        return new TrainingIngestResult(index, Status.CREATED, id, null);
+    }
+
+    static TrainingIngestResult rejected(int index, String error) {
+        return new TrainingIngestResult(index, Status.REJECTED, null, error);
+    }
+
+    static TrainingIngestResult failed(int index, String error) {
+        return new TrainingIngestResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,159 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests trainings in bulk from a streamed request body.
+ * <p>
+ * The body is either a JSON array of trainings or newline delimited JSON with one training per line, and is read
+ * incrementally with Jackson's streaming parser. Trainings are processed in chunks of {@value #CHUNK_SIZE}:
+ * the users of a chunk are read with a single query, invalid trainings are rejected, and the valid ones are stored
+ * in one transaction. The outcome of every training of the chunk is then written and flushed to the response,
+ * so neither the request nor the response is ever held in memory as a whole.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingIngestService {
+
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Error of the trainings whose chunk could not be stored; the cause, which may hold SQL and constraint details,
+     * is only logged.
+     */
+    static final String STORE_FAILED_ERROR = "Failed to store the training";
+
+    private final ObjectMapper objectMapper;
+    private final TrainingMapper trainingMapper;
+    private final TrainingProvider trainingProvider;
+    private final UserRepository userRepository;
+
+    /**
+     * Reads all trainings from the input and writes the outcome of each of them as a line of JSON to the output.
+     * When the input is not well-formed JSON, the trainings read so far are still ingested, and the last line
+     * rejects the training at which reading failed.
+     *
+     * @param input  the JSON array or newline delimited JSON to read the trainings from
+     * @param output the stream to write a {@link TrainingIngestResult} per training to
+     * @throws IOException if reading the input or writing the output fails
+     */
+    void ingest(InputStream input, OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TrainingIngestResult.class);
+        List<JsonNode> chunk = new ArrayList<>(CHUNK_SIZE);
+        int firstIndex = 0;
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    chunk.add(parser.readValueAsTree());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        write(ingestChunk(firstIndex, chunk), writer, output);
+                        firstIndex += chunk.size();
+                        chunk.clear();
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                write(ingestChunk(firstIndex, chunk), writer, output);
+                write(List.of(TrainingIngestResult.rejected(firstIndex + chunk.size(), "Malformed JSON: " + e.getOriginalMessage())),
+                        writer, output);
+                return;
+            }
+        }
+        write(ingestChunk(firstIndex, chunk), writer, output);
+    }
+
+    private List<TrainingIngestResult> ingestChunk(int firstIndex, List<JsonNode> chunk) {
+        TrainingIngestResult[] results = new TrainingIngestResult[chunk.size()];
+        List<TrainingDto> trainingDtos = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TrainingDto trainingDto = null;
+            try {
+                trainingDto = objectMapper.treeToValue(chunk.get(i), TrainingDto.class);
+                String error = TrainingValidation.validate(trainingDto);
+                if (error != null) {
+                    results[i] = TrainingIngestResult.rejected(firstIndex + i, error);
+                    trainingDto = null;
+                }
+            } catch (JsonProcessingException e) {
+                results[i] = TrainingIngestResult.rejected(firstIndex + i, "Invalid training: " + e.getOriginalMessage());
+            }
+            trainingDtos.add(trainingDto);
+        }
+
+        Set<Long> userIds = trainingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(trainingDto -> trainingDto.user().id())
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        List<Training> trainings = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TrainingDto trainingDto = trainingDtos.get(i);
+            if (trainingDto == null) {
+                continue;
+            }
+            User user = users.get(trainingDto.user().id());
+            if (user == null) {
+                results[i] = TrainingIngestResult.rejected(firstIndex + i, "User with ID=%s was not found".formatted(trainingDto.user().id()));
+                continue;
+            }
+            Training training = trainingMapper.toEntity(trainingDto);
+            training.setUser(user);
+            positions.add(i);
+            trainings.add(training);
+        }
+
+        if (!trainings.isEmpty()) {
+            try {
+                List<Training> created = trainingProvider.createTrainings(trainings);
+                for (int i = 0; i < created.size(); i++) {
+                    results[positions.get(i)] = TrainingIngestResult.created(firstIndex + positions.get(i), created.get(i).getId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to store {} ingested trainings", trainings.size(), e);
+                positions.forEach(i -> results[i] = TrainingIngestResult.failed(firstIndex + i, STORE_FAILED_ERROR));
+            }
+        }
+        return List.of(results);
+    }
+
+    private static void write(List<TrainingIngestResult> results, ObjectWriter writer, OutputStream output) throws IOException {
+        for (TrainingIngestResult result : results) {
+            output.write(writer.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+    }
+}
@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters of the ingested trainings, tagged by activity type.
+ * The counters are registered once per activity type, so counting a training is a single map lookup.
+ */
+@Component
+class TrainingMetrics {
+
+    static final String TRAININGS_INGESTED = "trainings.ingested";
+
+    private final Map<ActivityType, Counter> ingested = new EnumMap<>(ActivityType.class);
+
+    TrainingMetrics(MeterRegistry meterRegistry) {
+        for (ActivityType activityType : ActivityType.values()) {
+            ingested.put(activityType, Counter.builder(TRAININGS_INGESTED)
+                    .description("Trainings created, one by one or in bulk")
+                    .tag("activity_type", activityType.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Counts the given created trainings, once the current transaction, if any, is committed.
+     *
+     * @param trainings the created trainings
+     */
+    void recordIngested(Collection<Training> trainings) {
+        Map<ActivityType, Integer> counts = new EnumMap<>(ActivityType.class);
+        trainings.forEach(training -> counts.merge(training.getActivityType(), 1, Integer::sum));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(counts);
+                }
+            });
+        } else {
+            increment(counts);
+        }
+    }
+
+    private void increment(Map<ActivityType, Integer> counts) {
+        counts.forEach((activityType, count) -> ingested.get(activityType).increment(count));
+    }
+}
@@ -1,22 +1,85 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TrainingRepository extends JpaRepository<Training, Long> {
 
+    int STREAM_FETCH_SIZE = 1000;
+
+    String TRAINING_DTO_SELECT = "SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingDto("
+            + "t.id, u.id, u.firstName, u.lastName, u.birthdate, u.email, "
+            + "t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed) "
+            + "FROM Training t JOIN t.user u ";
+
+    /**
+     * Retrieves all trainings, fetching their users in the same query.
+     *
+     * @return a list of all trainings
+     */
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Training> findAll();
+
+    /**
+     * Retrieves a page of trainings, fetching their users in the same query.
+     *
+     * @param pageable the page to retrieve
+     * @return a page of trainings
+     */
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Training> findAll(Pageable pageable);
+
+    /**
+     * Retrieves a slice of trainings with an ID greater than the given one (keyset pagination).
+     *
+     * @param id       the ID after which trainings should be returned
+     * @param pageable the size and sort order of the slice
+     * @return a slice of trainings with an ID greater than the given one
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Training> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Streams all trainings together with their users as {@link TrainingDto} objects, ordered by ID.
+     * The rows are fetched from the database in chunks of {@value #STREAM_FETCH_SIZE} while the stream is consumed,
+     * so the stream has to be consumed (and closed) within a transaction. No entity is loaded into the
+     * persistence context, so the memory use does not grow with the number of trainings or users.
+     *
+     * @return a stream of all trainings
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(TRAINING_DTO_SELECT + "ORDER BY t.id")
+    Stream<TrainingDto> streamAllDtos();
+
     /**
      * Retrieves a list of trainings by the user ID.
+     * The query filters on the user ID column of the trainings, so that it is served by the index on
+     * the user and the start time; the derived query filtered on the joined user instead.
      *
      * @param userId the user ID to search for
      * @return a list of Trainings that belong to the user with the given ID
      */
-    List<Training> findByUserId(Long userId);
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT t FROM Training t WHERE t.user.id = :userId")
+    List<Training> findByUserId(@Param("userId") Long userId);
 
     /**
      * Retrieves all trainings that are finished after the specified date.
@@ -24,6 +87,7 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param endDate the date after which the training must have ended
      * @return a list of Trainings that have an end time after the specified date
      */
+    @EntityGraph(attributePaths = "user")
     List<Training> findByEndTimeAfter(Date endDate);
 
     /**
@@ -32,8 +96,52 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param activityType the activity type to search for (e.g., RUNNING, CYCLING)
      * @return a list of {@link Training} objects associated with the specified activity type
      */
+    @EntityGraph(attributePaths = "user")
     List<Training> findByActivityType(ActivityType activityType);
 
+    /**
+     * Retrieves the trainings of the user with the given ID as DTOs, ordered by ID, in a single query.
+     *
+     * @param userId the user ID to search for
+     * @return a list of {@link TrainingDto} objects of the trainings that belong to the user with the given ID
+     */
+    @Query(TRAINING_DTO_SELECT + "WHERE u.id = :userId ORDER BY t.id")
+    List<TrainingDto> findDtosByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves the trainings that are finished after the specified date as DTOs, ordered by ID, in a single query.
+     *
+     * @param endDate the date after which the training must have ended
+     * @return a list of {@link TrainingDto} objects of the trainings that have an end time after the specified date
+     */
+    @Query(TRAINING_DTO_SELECT + "WHERE t.endTime > :endDate ORDER BY t.id")
+    List<TrainingDto> findDtosByEndTimeAfter(@Param("endDate") Date endDate);
+
+    /**
+     * Retrieves the trainings of the specified activity type as DTOs, ordered by ID, in a single query.
+     *
+     * @param activityType the activity type to search for (e.g., RUNNING, CYCLING)
+     * @return a list of {@link TrainingDto} objects of the trainings of the specified activity type
+     */
+    @Query(TRAINING_DTO_SELECT + "WHERE t.activityType = :activityType ORDER BY t.id")
+    List<TrainingDto> findDtosByActivityType(@Param("activityType") ActivityType activityType);
+
+    /**
+     * Counts the trainings of each of the given users started within the given period, in a single grouped query.
+     * Users without trainings in the period are not returned.
+     *
+     * @param userIds the IDs of the users whose trainings are counted
+     * @param from    the start of the period, inclusive
+     * @param to      the end of the period, exclusive
+     * @return the number of trainings of every user with at least one training in the period
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount(t.user.id, COUNT(t)) "
+            + "FROM Training t WHERE t.user.id IN :userIds AND t.startTime >= :from AND t.startTime < :to "
+            + "GROUP BY t.user.id")
+    List<UserTrainingCount> countByUserIdsAndStartTimeBetween(@Param("userIds") Collection<Long> userIds,
+                                                              @Param("from") Date from,
+                                                              @Param("to") Date to);
+
     /**
      * Retrieves the count of trainings for a specific user in a given month and year.
      *
@@ -1,14 +1,31 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupChange;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingTotals;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link TrainingProvider} interface, providing business logic for managing trainings.
@@ -18,10 +35,16 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-
+@Timed(value = "fitnesstracker.service", histogram = true)
 public class TrainingServiceImpl implements TrainingProvider {
 
+    private static final int CREATE_FLUSH_SIZE = 1000;
+
     private final TrainingRepository trainingRepository;
+    private final EntityManager entityManager;
+    private final StatisticsService statisticsService;
+    private final RollupService rollupService;
+    private final TrainingMetrics trainingMetrics;
 
     /**
      * Retrieves all trainings available in the system.
@@ -33,6 +56,44 @@ public class TrainingServiceImpl implements TrainingProvider {
         return trainingRepository.findAll();
     }
 
+    /**
+     * Retrieves a page of trainings, for offset based pagination.
+     *
+     * @param pageable the page of trainings to return
+     * @return a page of {@link Training} objects
+     */
+    @Override
+    public Page<Training> findAllTrainings(Pageable pageable) {
+        return trainingRepository.findAll(pageable);
+    }
+
+    /**
+     * Retrieves up to {@code limit} trainings with an ID greater than the given one, ordered by ID.
+     *
+     * @param lastId the ID of the last training of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of trainings to return
+     * @return a slice of {@link Training} objects, telling whether there are more trainings after it
+     */
+    @Override
+    public Slice<Training> findTrainingsAfter(long lastId, int limit) {
+        return trainingRepository.findByIdGreaterThan(lastId, Pagination.keysetPage(limit));
+    }
+
+    /**
+     * Passes all trainings, ordered by ID, one by one to the given consumer.
+     * The trainings are read by a constructor projection, so neither they nor their users are kept
+     * in the persistence context.
+     *
+     * @param consumer the consumer of the trainings
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTraining(Consumer<TrainingDto> consumer) {
+        try (Stream<TrainingDto> trainings = trainingRepository.streamAllDtos()) {
+            trainings.forEach(consumer);
+        }
+    }
+
     /**
      * Retrieves a list of trainings that have ended after the specified date.
      *
@@ -44,6 +105,18 @@ public class TrainingServiceImpl implements TrainingProvider {
         return trainingRepository.findByEndTimeAfter(endDate);
     }
 
+    /**
+     * Retrieves the trainings that have ended after the specified date as DTOs, ordered by ID,
+     * reading each training together with its user in a single query.
+     *
+     * @param endDate the date after which the trainings must have ended
+     * @return a list of {@link TrainingDto} objects that ended after the provided date
+     */
+    @Override
+    public List<TrainingDto> findTrainingDtosAfterDate(Date endDate) {
+        return trainingRepository.findDtosByEndTimeAfter(endDate);
+    }
+
     /**
      * Retrieves a list of all trainings for a specified user.
      *
@@ -55,6 +128,17 @@ public class TrainingServiceImpl implements TrainingProvider {
         return trainingRepository.findByUserId(userId);
     }
 
+    /**
+     * Retrieves all trainings of a specified user as DTOs, ordered by ID, in a single query.
+     *
+     * @param userId the ID of the user whose trainings are to be retrieved
+     * @return a list of {@link TrainingDto} objects associated with the specified user
+     */
+    @Override
+    public List<TrainingDto> getTrainingDtosByUserId(Long userId) {
+        return trainingRepository.findDtosByUserId(userId);
+    }
+
     /**
      * Retrieves all trainings associated with a specific activity type.
      *
@@ -67,28 +151,110 @@ public class TrainingServiceImpl implements TrainingProvider {
     }
 
     /**
-     * Creates a new training record in the system.
-     * Validates if the user exists before creating the training record.
+     * Retrieves all trainings of a specific activity type as DTOs, ordered by ID, in a single query.
+     *
+     * @param activityType the activity type to search for (e.g., RUNNING, CYCLING)
+     * @return a list of {@link TrainingDto} objects associated with the specified activity type
+     */
+    @Override
+    public List<TrainingDto> getTrainingDtosByActivityType(ActivityType activityType) {
+        return trainingRepository.findDtosByActivityType(activityType);
+    }
+
+    /**
+     * Creates a new training record in the system and adds it to the statistics and the daily rollups of its user.
      *
      * @param training the {@link Training} object to be created
      * @return the created {@link Training} object
-     * @throws IllegalArgumentException if the provided user ID does not exist
      */
     @Override
+    @Transactional
     public Training createTraining(Training training) {
-        return trainingRepository.save(training);
+        Training created = trainingRepository.save(training);
+        int caloriesBurned = caloriesBurned(created);
+        rollupService.addToRollups(List.of(RollupChange.of(created, caloriesBurned)));
+        statisticsService.addToStatistics(created.getUser().getId(), 1, created.getDistance(), caloriesBurned);
+        trainingMetrics.recordIngested(List.of(created));
+        return created;
+    }
+
+    /**
+     * Creates all given trainings in a single transaction and adds them to the statistics and the daily rollups
+     * of their users.
+     * <p>
+     * The trainings are persisted in chunks of {@value #CREATE_FLUSH_SIZE}; every chunk is flushed as JDBC batch
+     * inserts and then cleared from the persistence context, so that the memory use does not grow with the number
+     * of trainings, so the returned trainings are detached. The statistics of every user are updated once,
+     * with the totals of all their new trainings; both the statistics and the rollups with batched statements.
+     *
+     * @param trainings the {@link Training} objects to be created
+     * @return the created {@link Training} objects, in the given order
+     */
+    @Override
+    @Transactional
+    public List<Training> createTrainings(List<Training> trainings) {
+        Map<Long, TrainingTotals> totalsByUser = new HashMap<>();
+        List<RollupChange> rollupChanges = new ArrayList<>(trainings.size());
+        for (int i = 0; i < trainings.size(); i++) {
+            Training training = trainings.get(i);
+            entityManager.persist(training);
+            int caloriesBurned = caloriesBurned(training);
+            totalsByUser.merge(training.getUser().getId(),
+                    new TrainingTotals(1, training.getDistance(), caloriesBurned),
+                    TrainingTotals::add);
+            rollupChanges.add(RollupChange.of(training, caloriesBurned));
+            if ((i + 1) % CREATE_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        rollupService.addToRollups(rollupChanges);
+        statisticsService.addToStatistics(totalsByUser);
+        trainingMetrics.recordIngested(trainings);
+        return trainings;
     }
 
     /**
-     * Updates an existing training record with new information.
-     * Only the fields provided in the updated training object will be updated.
+     * Updates an existing training record with new information and applies the difference
+     * to the statistics and the daily rollups of the affected users.
      *
      * @param training the {@link Training} object containing updated information
      * @return the updated {@link Training} object
-     * @throws IllegalArgumentException if the training with the provided ID does not exist
+     * @throws TrainingNotFoundException if the training with the provided ID does not exist
      */
     @Override
+    @Transactional
     public Training updateTraining(Training training) {
-        return trainingRepository.save(training);
+        Training existing = trainingRepository.findById(training.getId())
+                .orElseThrow(() -> new TrainingNotFoundException(training.getId()));
+        Long previousUserId = existing.getUser().getId();
+        double previousDistance = existing.getDistance();
+        int previousCaloriesBurned = caloriesBurned(existing);
+        RollupChange previousRollup = RollupChange.of(existing, previousCaloriesBurned);
+
+        existing.setUser(training.getUser());
+        existing.setStartTime(training.getStartTime());
+        existing.setEndTime(training.getEndTime());
+        existing.setActivityType(training.getActivityType());
+        existing.setDistance(training.getDistance());
+        existing.setAverageSpeed(training.getAverageSpeed());
+        Training updated = trainingRepository.save(existing);
+
+        rollupService.addToRollups(List.of(previousRollup.negate(), RollupChange.of(updated, caloriesBurned(updated))));
+        Long userId = updated.getUser().getId();
+        if (userId.equals(previousUserId)) {
+            statisticsService.addToStatistics(userId, 0,
+                    updated.getDistance() - previousDistance, caloriesBurned(updated) - previousCaloriesBurned);
+        } else {
+            statisticsService.addToStatistics(previousUserId, -1, -previousDistance, -previousCaloriesBurned);
+            statisticsService.addToStatistics(userId, 1, updated.getDistance(), caloriesBurned(updated));
+        }
+        return updated;
+    }
+
+    private int caloriesBurned(Training training) {
+        return (int) statisticsService.calculateCaloriesBurned(training);
     }
 }
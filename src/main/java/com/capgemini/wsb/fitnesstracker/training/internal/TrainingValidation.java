@@ -0,0 +1,40 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import jakarta.annotation.Nullable;
+
+/**
+ * Checks of the trainings sent by clients to the bulk endpoints, done before they are stored, so that a training
+ * that cannot be accounted in the statistics and rollups is rejected instead of failing once persisted.
+ */
+final class TrainingValidation {
+
+    private TrainingValidation() {
+    }
+
+    /**
+     * Checks the training read from a request.
+     *
+     * @param trainingDto the training to check
+     * @return the reason why the training is invalid, {@code null} if it is valid
+     */
+    @Nullable
+    static String validate(TrainingDto trainingDto) {
+        if (trainingDto.user() == null || trainingDto.user().id() == null) {
+            return "User ID must be provided";
+        }
+        if (trainingDto.startTime() == null || trainingDto.endTime() == null) {
+            return "Start and end time must be provided";
+        }
+        if (trainingDto.endTime().before(trainingDto.startTime())) {
+            return "End time must not be before start time";
+        }
+        if (trainingDto.activityType() == null) {
+            return "Activity type must be provided";
+        }
+        if (trainingDto.distance() < 0 || trainingDto.averageSpeed() < 0) {
+            return "Distance and average speed must not be negative";
+        }
+        return null;
+    }
+}
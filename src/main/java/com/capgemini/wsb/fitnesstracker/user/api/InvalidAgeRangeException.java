@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+
+/**
+ * Exception indicating that the age range requested by the client is empty or negative.
+ */
+@SuppressWarnings("squid:S110")
+public class InvalidAgeRangeException extends BusinessException {
+
+    public InvalidAgeRangeException(int minAge, int maxAge) {
+        super("Invalid age range: %d-%d".formatted(minAge, maxAge));
+    }
+
+}
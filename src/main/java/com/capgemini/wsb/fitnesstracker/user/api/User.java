@@ -3,11 +3,16 @@ package com.capgemini.wsb.fitnesstracker.user.api;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_birthdate", columnList = "birthdate"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -15,7 +20,8 @@ import java.time.LocalDate;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Nullable
     private Long id;
 
@@ -43,5 +49,25 @@ public class User {
         this.email = email;
     }
 
+    /**
+     * Normalizes the email before it is written, so that lookups can go through the unique index
+     * on the {@code email} column instead of comparing case-insensitively.
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        this.email = normalizeEmail(email);
+    }
+
+    /**
+     * Normalizes the given email address to the form in which it is stored (trimmed, lower case).
+     *
+     * @param email the email address to normalize, may be {@code null}
+     * @return the normalized email address, or {@code null} if {@code null} was given
+     */
+    public static String normalizeEmail(final String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
 }
 
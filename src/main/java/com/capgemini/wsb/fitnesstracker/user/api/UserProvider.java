@@ -1,6 +1,9 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -39,14 +42,42 @@ public interface UserProvider {
     List<User> findAllUsers();
 
     /**
-     * Retrieves a user by their first and last name.
+     * Retrieves a page of users, for offset based pagination.
      *
-     * @param firstName the first name of the user
-     * @param lastName  the last name of the user
-     * @return an Optional containing the User if found, or an empty Optional if not found
+     * @param pageable the page of users to return
+     * @return a page of users
+     */
+    Page<User> findAllUsers(Pageable pageable);
+
+    /**
+     * Retrieves up to {@code limit} users with an ID greater than the given one, ordered by ID (keyset pagination).
+     *
+     * @param lastId the ID of the last user of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of users to return
+     * @return a slice of users, telling whether there are more users after it
+     */
+    Slice<User> findUsersAfter(long lastId, int limit);
+
+    /**
+     * Retrieves the best matching user by their first and last name.
+     *
+     * @param firstName the first name (or its part) of the user
+     * @param lastName  the last name (or its part) of the user
+     * @return an Optional containing the best matching User if found, or an empty Optional if not found
      */
     Optional<User> getUserByNameSurname(String firstName, String lastName);
 
+    /**
+     * Searches users whose first and last names contain the given strings (case-insensitive).
+     * The results are ranked, the best matches come first: exact matches, then prefix matches, then other matches.
+     *
+     * @param firstName the first name (or its part) of the users
+     * @param lastName  the last name (or its part) of the users
+     * @param pageable  the page of results to return
+     * @return a page of matching users, ordered from the best match
+     */
+    Page<User> searchUsersByNameSurname(String firstName, String lastName, Pageable pageable);
+
     /**
      * Retrieves a list of users with a specific birthdate.
      *
@@ -70,4 +101,35 @@ public interface UserProvider {
      */
     List<User> findUsersOlderThan(LocalDate date);
 
+    /**
+     * Retrieves a page of users older than the specified date.
+     *
+     * @param date     the date to compare against users' birthdates
+     * @param pageable the page of users to return, including its sort order
+     * @return a page of users older than the specified date
+     */
+    Page<User> findUsersOlderThan(LocalDate date, Pageable pageable);
+
+    /**
+     * Retrieves a page of users born between the specified dates (both inclusive), ordered by birthdate.
+     *
+     * @param from     the earliest birthdate
+     * @param to       the latest birthdate
+     * @param pageable the page of users to return
+     * @return a page of users born within the specified range
+     */
+    Page<User> findUsersBornBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    /**
+     * Retrieves a page of users whose current age (in full years) is within the specified range (both inclusive),
+     * ordered by birthdate.
+     *
+     * @param minAge   the minimal age of the users
+     * @param maxAge   the maximal age of the users
+     * @param pageable the page of users to return
+     * @return a page of users within the specified age range
+     * @throws InvalidAgeRangeException if the minimal age is negative or greater than the maximal one
+     */
+    Page<User> findUsersAgedBetween(int minAge, int maxAge, Pageable pageable);
+
 }
@@ -1,5 +1,7 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.user.api.InvalidAgeRangeException;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -11,27 +13,46 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/v1/users")
 @RequiredArgsConstructor
 class UserController {
 
+    /**
+     * Maximal page size of the search and birthdate range endpoints, whose pages are sorted by rank or birthdate.
+     */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final UserServiceImpl userService;
 
     private final UserMapper userMapper;
 
     /**
-     * Retrieves all users as a list of UserDto objects.
+     * Retrieves a page of users as a list of UserDto objects, ordered by ID.
+     * <p>
+     * By default the users are paged by keyset: the {@value Pagination#NEXT_CURSOR_HEADER} response header
+     * holds the cursor of the next page, absent on the last one. When the {@code page} parameter is given,
+     * offset based paging is used instead and the total number of users is returned in the
+     * {@value Pagination#TOTAL_COUNT_HEADER} header.
      *
-     * @return a list of all users converted to UserDto
+     * @param cursor the cursor of the page to return, {@code null} for the first page
+     * @param limit  the number of users per page, at most {@value Pagination#MAX_PAGE_SIZE}
+     * @param page   the zero-based number of the page to return when paging by offset
+     * @return a page of users converted to UserDto
      */
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) Integer page) {
+        if (page != null) {
+            return Pagination.pageResponse(userService.findAllUsers(Pagination.offsetPage(page, limit)), userMapper::toDto);
+        }
+        return Pagination.keysetResponse(
+                userService.findUsersAfter(Pagination.decodeCursor(cursor), Pagination.pageSize(limit)),
+                User::getId,
+                userMapper::toDto);
     }
 
     /**
@@ -104,6 +125,27 @@ class UserController {
                 .orElseThrow(() -> new UserNotFoundException("User with NAME=%s, SURNAME=%s was not found".formatted(firstName, lastName)));
     }
 
+    /**
+     * Searches users by their first and last name (case-insensitive, partial matches allowed).
+     * The matches are ranked, the best match first. The total number of matches is returned
+     * in the {@value Pagination#TOTAL_COUNT_HEADER} response header.
+     *
+     * @param firstName the first name (or its part) of the users
+     * @param lastName  the last name (or its part) of the users
+     * @param page      the zero-based number of the page to return
+     * @param size      the number of users per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return a page of matching users converted to UserDto
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserDto>> searchUsersByNameSurname(@RequestParam String firstName,
+                                                                  @RequestParam String lastName,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        return Pagination.pageResponse(
+                userService.searchUsersByNameSurname(firstName, lastName, Pagination.offsetPage(page, size, MAX_SEARCH_PAGE_SIZE)),
+                userMapper::toDto);
+    }
+
     /**
      * Retrieves users by their birthdate as a list of UserIdBirthdayInfo objects.
      *
@@ -118,6 +160,43 @@ class UserController {
                 .toList();
     }
 
+    /**
+     * Retrieves a page of users born between the given dates (both inclusive), ordered by birthdate.
+     * The total number of such users is returned in the {@value Pagination#TOTAL_COUNT_HEADER} response header.
+     *
+     * @param from the earliest birthdate
+     * @param to   the latest birthdate
+     * @param page the zero-based number of the page to return
+     * @param size the number of users per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return a page of users born within the given range converted to UserDto
+     */
+    @GetMapping("/born")
+    public ResponseEntity<List<UserDto>> getUsersBornBetween(@RequestParam LocalDate from,
+                                                             @RequestParam LocalDate to,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return Pagination.pageResponse(userService.findUsersBornBetween(from, to, Pagination.offsetPage(page, size, MAX_SEARCH_PAGE_SIZE)), userMapper::toDto);
+    }
+
+    /**
+     * Retrieves a page of users whose age is within the given bucket (both bounds inclusive), ordered by birthdate.
+     * The total number of such users is returned in the {@value Pagination#TOTAL_COUNT_HEADER} response header.
+     *
+     * @param minAge the minimal age of the users
+     * @param maxAge the maximal age of the users
+     * @param page   the zero-based number of the page to return
+     * @param size   the number of users per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return a page of users within the given age range converted to UserDto
+     * @throws InvalidAgeRangeException if the minimal age is negative or greater than the maximal one
+     */
+    @GetMapping("/age")
+    public ResponseEntity<List<UserDto>> getUsersAgedBetween(@RequestParam int minAge,
+                                                             @RequestParam int maxAge,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return Pagination.pageResponse(userService.findUsersAgedBetween(minAge, maxAge, Pagination.offsetPage(page, size, MAX_SEARCH_PAGE_SIZE)), userMapper::toDto);
+    }
+
     /**
      * Adds a new user to the database.
      *
@@ -156,13 +235,20 @@ class UserController {
     }
 
     /**
-     * Retrieves all users older than the specified date.
+     * Retrieves a page of users older than the specified date, ordered by ID.
+     * The total number of such users is returned in the {@value Pagination#TOTAL_COUNT_HEADER} response header.
      *
      * @param date the date to compare users' birthdays
-     * @return a list of users older than the specified date
+     * @param page the zero-based number of the page to return
+     * @param size the number of users per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return a page of users older than the specified date
      */
     @GetMapping("/older/{date}")
-    public List<User> findByAgeOlderThan(@PathVariable("date") LocalDate date) {
-        return userService.findUsersOlderThan(date);
+    public ResponseEntity<List<User>> findByAgeOlderThan(@PathVariable("date") LocalDate date,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        return Pagination.pageResponse(
+                userService.findUsersOlderThan(date, Pagination.offsetPage(page, size, MAX_SEARCH_PAGE_SIZE)),
+                Function.identity());
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the first and last names of all users.
+ * <p>
+ * Answers case-insensitive substring queries on first and last name without touching the database.
+ * Queries of at least three characters are resolved by intersecting the trigram posting lists,
+ * shorter ones fall back to a scan over the indexed names. The index is built once the application is ready
+ * and kept in sync by {@link UserServiceImpl} on every user creation, update and deletion.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class UserNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedName> names = new HashMap<>();
+    private final Map<String, PostingList> firstNameGrams = new HashMap<>();
+    private final Map<String, PostingList> lastNameGrams = new HashMap<>();
+
+    /**
+     * Rebuilds the whole index from the database, reading users in batches ordered by ID.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            firstNameGrams.clear();
+            lastNameGrams.clear();
+
+            long lastId = 0;
+            List<UserBaseInfo> batch;
+            do {
+                batch = userRepository.findBaseInfoAfter(lastId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                for (UserBaseInfo user : batch) {
+                    add(user.id(), user.firstName(), user.lastName());
+                    lastId = user.id();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.info("Indexed names of {} users", names.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the user to the index, replacing the previously indexed names of the user if present.
+     *
+     * @param user the persisted user to index
+     */
+    void index(User user) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(user.getId());
+            add(user.getId(), user.getFirstName(), user.getLastName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the user with the given ID from the index.
+     *
+     * @param userId the ID of the user to remove
+     */
+    void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds all users whose first and last names contain the given strings (case-insensitive).
+     * The results are ranked: exact matches come before prefix matches, which come before other substring matches,
+     * and closer matches (shorter names) come first within the same rank.
+     *
+     * @param firstName substring of the first name to search for
+     * @param lastName  substring of the last name to search for
+     * @return IDs of the matching users, best match first
+     */
+    List<Long> search(String firstName, String lastName) {
+        String firstQuery = normalize(firstName);
+        String lastQuery = normalize(lastName);
+
+        lock.readLock().lock();
+        try {
+            List<ScoredId> matches = new ArrayList<>();
+            for (long id : candidates(firstQuery, lastQuery)) {
+                IndexedName name = names.get(id);
+                int firstScore = score(name.firstName(), firstQuery);
+                int lastScore = score(name.lastName(), lastQuery);
+                if (firstScore > 0 && lastScore > 0) {
+                    int lengthPenalty = name.firstName().length() - firstQuery.length()
+                            + name.lastName().length() - lastQuery.length();
+                    matches.add(new ScoredId(id, firstScore + lastScore, lengthPenalty));
+                }
+            }
+            matches.sort(Comparator.comparingInt(ScoredId::score).reversed()
+                    .thenComparingInt(ScoredId::lengthPenalty)
+                    .thenComparingLong(ScoredId::id));
+            return matches.stream().map(ScoredId::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String firstQuery, String lastQuery) {
+        List<PostingList> postings = new ArrayList<>();
+        if (!collectPostings(firstQuery, firstNameGrams, postings) || !collectPostings(lastQuery, lastNameGrams, postings)) {
+            return new long[0];
+        }
+        if (postings.isEmpty()) {
+            return names.keySet().stream().mapToLong(Long::longValue).toArray();
+        }
+        postings.sort(Comparator.comparingInt(PostingList::size));
+        return postings.get(0).intersect(postings.subList(1, postings.size()));
+    }
+
+    /**
+     * Adds the posting lists of all grams of the query to the given list.
+     *
+     * @return {@code false} if some gram of the query is not indexed at all, meaning nothing can match
+     */
+    private static boolean collectPostings(String query, Map<String, PostingList> grams, List<PostingList> postings) {
+        for (String gram : grams(query)) {
+            PostingList posting = grams.get(gram);
+            if (posting == null) {
+                return false;
+            }
+            postings.add(posting);
+        }
+        return true;
+    }
+
+    private void add(Long id, String firstName, String lastName) {
+        IndexedName name = new IndexedName(normalize(firstName), normalize(lastName));
+        names.put(id, name);
+        grams(name.firstName()).forEach(gram -> firstNameGrams.computeIfAbsent(gram, key -> new PostingList()).add(id));
+        grams(name.lastName()).forEach(gram -> lastNameGrams.computeIfAbsent(gram, key -> new PostingList()).add(id));
+    }
+
+    private void removeEntry(Long id) {
+        IndexedName name = names.remove(id);
+        if (name != null) {
+            removeGrams(firstNameGrams, name.firstName(), id);
+            removeGrams(lastNameGrams, name.lastName(), id);
+        }
+    }
+
+    private static void removeGrams(Map<String, PostingList> grams, String value, long id) {
+        for (String gram : grams(value)) {
+            PostingList posting = grams.get(gram);
+            if (posting != null && posting.remove(id) && posting.size() == 0) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static int score(String value, String query) {
+        if (value.equals(query)) {
+            return 3;
+        }
+        if (value.startsWith(query)) {
+            return 2;
+        }
+        return value.contains(query) ? 1 : 0;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedName(String firstName, String lastName) {}
+
+    private record ScoredId(long id, int score, int lengthPenalty) {}
+
+    /**
+     * Sorted set of user IDs backed by a primitive array, to keep the index compact.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        long[] intersect(List<PostingList> others) {
+            return Arrays.stream(ids, 0, size)
+                    .filter(id -> others.stream().allMatch(other -> other.contains(id)))
+                    .toArray();
+        }
+    }
+}
@@ -1,50 +1,117 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.time.LocalDate;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Query searching users by email address. It matches by exact match.
+     * Query searching users by email address. It matches by exact match on the unique, indexed {@code email} column,
+     * so the given email has to be normalized with {@link User#normalizeEmail(String)} beforehand.
      *
-     * @param email email of the user to search
+     * @param email normalized email of the user to search
      * @return {@link Optional} containing found user or {@link Optional#empty()} if none matched
      */
-    default Optional<User> findByEmail(String email) {
-        return findAll().stream()
-                        .filter(user -> Objects.equals(user.getEmail(), email))
-                        .findFirst();
-    }
+    Optional<User> findByEmail(String email);
 
     /**
-     * Retrieves the first user whose first and last names contain the specified strings (case-insensitive).
+     * Retrieves a slice of users with an ID greater than the given one (keyset pagination).
      *
-     * @param firstName a substring of the user's first name to search for (case-insensitive)
-     * @param lastName a substring of the user's last name to search for (case-insensitive)
-     * @return an Optional containing the first User matching the criteria, or an empty Optional if no match is found
+     * @param id       the ID after which users should be returned
+     * @param pageable the size and sort order of the slice
+     * @return a slice of users with an ID greater than the given one
      */
-    default Optional<User> getUserByNameSurname(String firstName, String lastName) {
-        return findAll().stream()
-                .filter(user -> user.getFirstName().toLowerCase().contains(firstName.toLowerCase()))
-                .filter(user -> user.getLastName().toLowerCase().contains(lastName.toLowerCase()))
-                .findFirst();
-    }
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
 
     /**
-     * Retrieves a list of users with a specific birthdate.
+     * Retrieves basic information of users with an ID greater than the given one, ordered by ID.
+     * Used to read all users in batches without loading the entities into the persistence context.
      *
-     * @param birthday the birthdate to filter users by
+     * @param lastId   the ID after which users should be returned
+     * @param pageable the page (size) of users to return
+     * @return a list of basic user information ordered by ID
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.internal.UserBaseInfo(u.id, u.firstName, u.lastName) " +
+            "FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<UserBaseInfo> findBaseInfoAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    /**
+     * Retrieves a list of users with a specific birthdate, using the index on the {@code birthdate} column.
+     *
+     * @param birthdate the birthdate to filter users by
      * @return a list of users who have the specified birthdate
      */
-    default List<User> getUserByBirthday(LocalDate birthday) {
-        return findAll().stream()
-                .filter(user -> Objects.equals(user.getBirthdate(), birthday))
-                .toList();
-    }
+    List<User> findByBirthdate(LocalDate birthdate);
+
+    /**
+     * Retrieves all users born before the specified date, ordered by ID.
+     *
+     * @param date the date before which users must have been born
+     * @return a list of users born before the specified date
+     */
+    List<User> findByBirthdateBeforeOrderById(LocalDate date);
+
+    /**
+     * Retrieves a page of users born before the specified date.
+     *
+     * @param date     the date before which users must have been born
+     * @param pageable the page of users to return, including its sort order
+     * @return a page of users born before the specified date
+     */
+    Page<User> findByBirthdateBefore(LocalDate date, Pageable pageable);
+
+    /**
+     * Retrieves a page of users born between the specified dates (both inclusive).
+     *
+     * @param from     the earliest birthdate
+     * @param to       the latest birthdate
+     * @param pageable the page of users to return, including its sort order
+     * @return a page of users born within the specified range
+     */
+    Page<User> findByBirthdateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    /**
+     * Retrieves the IDs and emails of up to a page of users with an ID greater than the given one, ordered by ID.
+     *
+     * @param lastId   the ID after which users should be returned
+     * @param pageable the size of the page
+     * @return the IDs and emails of the users
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.internal.UserIdEmailInfo(u.id, u.email) "
+            + "FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<UserIdEmailInfo> findIdEmailAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    /**
+     * Retrieves the user with the given ID, locking its row until the end of the current transaction.
+     * Used to serialize operations that must not run concurrently for the same user.
+     *
+     * @param id the ID of the user to lock
+     * @return an {@link Optional} containing the locked user, or {@link Optional#empty()} if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Retrieves the users with the given IDs, locking their rows in ascending ID order until the end of
+     * the current transaction, so that concurrent callers locking overlapping users cannot deadlock.
+     *
+     * @param ids the IDs of the users to lock
+     * @return the locked users, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -1,27 +1,42 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.user.api.InvalidAgeRangeException;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
 import com.capgemini.wsb.fitnesstracker.user.api.UserService;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "fitnesstracker.service", histogram = true)
 public class UserServiceImpl implements UserService, UserProvider {
 
     private final UserRepository userRepository;
 
+    private final UserNameIndex userNameIndex;
+
     /**
      * Creates a new user in the database.
      *
@@ -35,7 +50,9 @@ public class UserServiceImpl implements UserService, UserProvider {
         if (user.getId() != null) {
             throw new IllegalArgumentException("User has already DB ID, update is not permitted!");
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userNameIndex.index(savedUser);
+        return savedUser;
     }
 
     /**
@@ -59,7 +76,9 @@ public class UserServiceImpl implements UserService, UserProvider {
         Optional.ofNullable(newUser.getBirthdate()).ifPresent(existingUser::setBirthdate);
         Optional.ofNullable(newUser.getEmail()).ifPresent(existingUser::setEmail);
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        userNameIndex.index(savedUser);
+        return savedUser;
     }
 
     /**
@@ -75,13 +94,14 @@ public class UserServiceImpl implements UserService, UserProvider {
 
     /**
      * Retrieves a user by their email address.
+     * The email is matched case-insensitively, as emails are stored in their normalized form.
      *
      * @param email the email address of the user
      * @return an Optional containing the User if found, or an empty Optional if not found
      */
     @Override
     public Optional<User> getUserByEmail(final String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByEmail(User.normalizeEmail(email));
     }
 
     /**
@@ -95,15 +115,66 @@ public class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Retrieves a user by their first and last name.
+     * Retrieves a page of users, for offset based pagination.
      *
-     * @param firstName the first name of the user
-     * @param lastName  the last name of the user
-     * @return an Optional containing the User if found, or an empty Optional if not found
+     * @param pageable the page of users to return
+     * @return a page of users
+     */
+    @Override
+    public Page<User> findAllUsers(Pageable pageable) {
+        return userRepository.findAll(pageable);
+    }
+
+    /**
+     * Retrieves up to {@code limit} users with an ID greater than the given one, ordered by ID.
+     *
+     * @param lastId the ID of the last user of the previous page, {@code 0} for the first page
+     * @param limit  the maximal number of users to return
+     * @return a slice of users, telling whether there are more users after it
+     */
+    @Override
+    public Slice<User> findUsersAfter(long lastId, int limit) {
+        return userRepository.findByIdGreaterThan(lastId, Pagination.keysetPage(limit));
+    }
+
+    /**
+     * Retrieves the best matching user by their first and last name, using the {@link UserNameIndex}.
+     *
+     * @param firstName the first name (or its part) of the user
+     * @param lastName  the last name (or its part) of the user
+     * @return an Optional containing the best matching User if found, or an empty Optional if not found
      */
     @Override
     public Optional<User> getUserByNameSurname(String firstName, String lastName) {
-        return userRepository.getUserByNameSurname(firstName, lastName);
+        return userNameIndex.search(firstName, lastName).stream()
+                .map(userRepository::findById)
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    /**
+     * Searches users by their first and last name, using the {@link UserNameIndex}.
+     * Only the users of the requested page are loaded from the database.
+     *
+     * @param firstName the first name (or its part) of the users
+     * @param lastName  the last name (or its part) of the users
+     * @param pageable  the page of results to return
+     * @return a page of matching users, ordered from the best match
+     */
+    @Override
+    public Page<User> searchUsersByNameSurname(String firstName, String lastName, Pageable pageable) {
+        List<Long> rankedIds = userNameIndex.search(firstName, lastName);
+        int fromIndex = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(fromIndex, toIndex);
+
+        Map<Long, User> usersById = userRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> users = pageIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(users, pageable, rankedIds.size());
     }
 
     /**
@@ -114,7 +185,7 @@ public class UserServiceImpl implements UserService, UserProvider {
      */
     @Override
     public List<User> getUserByBirthdate(@JsonFormat(pattern = "yyyy-MM-dd") LocalDate birthdate) {
-        return userRepository.getUserByBirthday(birthdate);
+        return userRepository.findByBirthdate(birthdate);
     }
 
     /**
@@ -130,6 +201,7 @@ public class UserServiceImpl implements UserService, UserProvider {
             throw new UserNotFoundException(id);
         }
         userRepository.deleteById(id);
+        userNameIndex.remove(id);
     }
 
     /**
@@ -140,9 +212,51 @@ public class UserServiceImpl implements UserService, UserProvider {
      */
     @Override
     public List<User> findUsersOlderThan(LocalDate date) {
-        List<User> allUsers = userRepository.findAll();
-        return allUsers.stream()
-                .filter(user -> user.getBirthdate().isBefore(date))
-                .collect(Collectors.toList());
+        return userRepository.findByBirthdateBeforeOrderById(date);
+    }
+
+    /**
+     * Retrieves a page of users older than the specified date.
+     *
+     * @param date     the date to compare against users' dates of birth
+     * @param pageable the page of users to return, including its sort order
+     * @return a page of users older than the specified date
+     */
+    @Override
+    public Page<User> findUsersOlderThan(LocalDate date, Pageable pageable) {
+        return userRepository.findByBirthdateBefore(date, pageable);
+    }
+
+    /**
+     * Retrieves a page of users born between the specified dates (both inclusive), ordered by birthdate.
+     *
+     * @param from     the earliest birthdate
+     * @param to       the latest birthdate
+     * @param pageable the page of users to return
+     * @return a page of users born within the specified range
+     */
+    @Override
+    public Page<User> findUsersBornBetween(LocalDate from, LocalDate to, Pageable pageable) {
+        Pageable byBirthdate = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("birthdate", "id"));
+        return userRepository.findByBirthdateBetween(from, to, byBirthdate);
+    }
+
+    /**
+     * Retrieves a page of users whose current age (in full years) is within the specified range (both inclusive).
+     * The age range is translated to a birthdate range, so that the query can use the birthdate index.
+     *
+     * @param minAge   the minimal age of the users
+     * @param maxAge   the maximal age of the users
+     * @param pageable the page of users to return
+     * @return a page of users within the specified age range
+     * @throws InvalidAgeRangeException if the minimal age is negative or greater than the maximal one
+     */
+    @Override
+    public Page<User> findUsersAgedBetween(int minAge, int maxAge, Pageable pageable) {
+        if (minAge < 0 || maxAge < minAge) {
+            throw new InvalidAgeRangeException(minAge, maxAge);
+        }
+        LocalDate today = LocalDate.now();
+        return findUsersBornBetween(today.minusYears(maxAge + 1L).plusDays(1), today.minusYears(minAge), pageable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+-- Sequences of the entity IDs, incremented by the allocation size of their generators.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE trainings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE statistics_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE training_rollups_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users
+(
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    birthdate  DATE         NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Searches of users older than a date.
+CREATE INDEX idx_users_birthdate ON users (birthdate);
+
+CREATE TABLE trainings
+(
+    id            BIGINT           NOT NULL,
+    user_id       BIGINT,
+    start_time    TIMESTAMP(6)     NOT NULL,
+    end_time      TIMESTAMP(6)     NOT NULL,
+    activity_type TINYINT          NOT NULL,
+    distance      DOUBLE PRECISION,
+    average_speed DOUBLE PRECISION,
+    CONSTRAINT pk_trainings PRIMARY KEY (id),
+    CONSTRAINT ck_trainings_activity_type CHECK (activity_type BETWEEN 0 AND 4)
+);
+
+-- Trainings of a user, and of a user in a time window (monthly counts of the reports and the statistics).
+CREATE INDEX idx_trainings_user_start_time ON trainings (user_id, start_time);
+-- Searches of trainings ended after a date.
+CREATE INDEX idx_trainings_end_time ON trainings (end_time);
+-- Searches of trainings by activity type.
+CREATE INDEX idx_trainings_activity_type_start_time ON trainings (activity_type, start_time);
+
+ALTER TABLE trainings
+    ADD CONSTRAINT fk_trainings_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+CREATE TABLE statistics
+(
+    id                    BIGINT  NOT NULL,
+    user_id               BIGINT,
+    total_trainings       INTEGER NOT NULL,
+    total_distance        DOUBLE PRECISION,
+    total_calories_burned INTEGER,
+    CONSTRAINT pk_statistics PRIMARY KEY (id)
+);
+
+-- Statistics of a user; created before the foreign key, so that it also backs the foreign key.
+CREATE INDEX idx_statistics_user_id ON statistics (user_id);
+
+ALTER TABLE statistics
+    ADD CONSTRAINT fk_statistics_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+CREATE TABLE training_rollups
+(
+    id              BIGINT           NOT NULL,
+    user_id         BIGINT           NOT NULL,
+    training_day    DATE             NOT NULL,
+    activity_type   TINYINT          NOT NULL,
+    trainings       INTEGER          NOT NULL,
+    distance        DOUBLE PRECISION NOT NULL,
+    calories_burned INTEGER          NOT NULL,
+    CONSTRAINT pk_training_rollups PRIMARY KEY (id),
+    -- Also serves the aggregates of a user over a window of days.
+    CONSTRAINT uk_training_rollups_user_day_activity UNIQUE (user_id, training_day, activity_type),
+    CONSTRAINT ck_training_rollups_activity_type CHECK (activity_type BETWEEN 0 AND 4)
+);
+
+CREATE TABLE reports
+(
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    report_year            INTEGER                     NOT NULL,
+    report_month           INTEGER                     NOT NULL,
+    status                 VARCHAR(255)                NOT NULL,
+    last_processed_user_id BIGINT                      NOT NULL,
+    processed_users        BIGINT                      NOT NULL,
+    sent_emails            BIGINT                      NOT NULL,
+    failed_emails          BIGINT                      NOT NULL,
+    started_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at            TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_reports PRIMARY KEY (id),
+    CONSTRAINT uk_reports_year_month UNIQUE (report_year, report_month),
+    CONSTRAINT ck_reports_status CHECK (status IN ('IN_PROGRESS', 'COMPLETED'))
+);
@@ -0,0 +1,19 @@
+-- Version of the statistics, incremented by every statement changing the totals, so that readers can tell whether
+-- the statistics changed. The statistics are only written by native statements, so nothing checks it on write.
+ALTER TABLE statistics
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- A user has at most one statistics record: drop the duplicates created by concurrent first updates,
+-- keeping the oldest record of each user.
+DELETE
+FROM statistics s
+WHERE EXISTS (SELECT 1 FROM statistics d WHERE d.user_id = s.user_id AND d.id < s.id);
+
+-- The unique constraint replaces the plain index, so the foreign key is recreated to use the index of the constraint.
+ALTER TABLE statistics
+    DROP CONSTRAINT fk_statistics_user;
+DROP INDEX idx_statistics_user_id;
+ALTER TABLE statistics
+    ADD CONSTRAINT uk_statistics_user UNIQUE (user_id);
+ALTER TABLE statistics
+    ADD CONSTRAINT fk_statistics_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -1,5 +1,7 @@
 package com.capgemini.wsb.fitnesstracker;
 
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.Before;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -21,15 +24,28 @@ public abstract class IntegrationTestBase {
     @Autowired
     private JpaRepository<Training, Long> trainingRepository;
 
+    @Autowired
+    private JpaRepository<Statistics, Long> statisticsRepository;
+
+    @Autowired
+    private JpaRepository<TrainingRollup, Long> rollupRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @AfterEach
     void cleanUpDB() {
+        statisticsRepository.deleteAll();
+        rollupRepository.deleteAllInBatch();
         trainingRepository.deleteAll();
         userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
 
     }
 
     @Before
     public void setUp() {
+        statisticsRepository.deleteAll();
         trainingRepository.deleteAll();
         userRepository.deleteAll();
 
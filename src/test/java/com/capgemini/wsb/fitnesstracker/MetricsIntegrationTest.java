@@ -0,0 +1,63 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the application metrics are exposed for Prometheus scraping,
+ * with the histograms needed to compute latency percentiles.
+ */
+@IntegrationTest
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.data.repository.autotime.percentiles-histogram=true"
+})
+class MetricsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldExposeMetricsOfIngestedTrainings_whenScraped() throws Exception {
+        User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {
+                        "user": {"id": %d},
+                        "startTime": "2024-04-01T10:00:00.000+00:00",
+                        "endTime": "2024-04-01T11:00:00.000+00:00",
+                        "activityType": "SWIMMING",
+                        "distance": 1.5,
+                        "averageSpeed": 3.0
+                        }
+                        """.formatted(user.getId())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(matchesRegex("(?s).*\ntrainings_ingested_total\\{activity_type=\"SWIMMING\",?} [1-9].*")))
+                .andExpect(content().string(containsString(
+                        "fitnesstracker_service_seconds_bucket{class=\"com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl\"")))
+                .andExpect(content().string(containsString("method=\"createTraining\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(matchesRegex("(?s).*http_server_requests_seconds_bucket\\{[^}]*uri=\"/v1/trainings\".*")))
+                .andExpect(content().string(containsString("mail_emails_total{result=\"sent\"")))
+                .andExpect(content().string(containsString("report_in_progress ")));
+    }
+}
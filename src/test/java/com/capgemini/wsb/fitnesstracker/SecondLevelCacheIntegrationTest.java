@@ -0,0 +1,138 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that users and statistics are served from the second-level cache,
+ * and that the cache never serves them stale after they change.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=metrics")
+class SecondLevelCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldReadUserFromCache_whenGettingUser() throws Exception {
+        User user = existingUser(generateClient());
+        statistics.clear();
+
+        mockMvc.perform(get("/v1/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value(user.getFirstName()));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void shouldReturnUpdatedUser_whenGettingCachedUserAfterUpdate() throws Exception {
+        User user = existingUser(generateClient());
+        mockMvc.perform(get("/v1/users/{id}", user.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/v1/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"firstName\": \"Updated\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Updated"));
+    }
+
+    @Test
+    void shouldReturnUpdatedStatistics_whenGettingCachedStatisticsAfterNewTraining() throws Exception {
+        User user = existingUser(generateClient());
+        trainingProvider.createTraining(generateTraining(user, 10.0));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+        clearApplicationCaches();
+        statistics.clear();
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        trainingProvider.createTraining(generateTraining(user, 5.0));
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(15.0));
+    }
+
+    @Test
+    void shouldExposeCacheMetrics_whenRequestingActuatorMetrics() throws Exception {
+        User user = existingUser(generateClient());
+        mockMvc.perform(get("/v1/users/{id}", user.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[*].tag").value(hasItem("region")))
+                .andExpect(jsonPath("$.availableTags[*].tag").value(hasItem("result")));
+        assertTrue(statistics.isStatisticsEnabled());
+    }
+
+    /**
+     * Clears the caches of the statistics endpoints, which would otherwise serve the statistics without querying.
+     */
+    private void clearApplicationCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTraining(User user, double distance) {
+        Date startTime = new Date();
+        return new Training(user, startTime, new Date(startTime.getTime() + 3_600_000), ActivityType.RUNNING, distance, 10.0);
+    }
+}
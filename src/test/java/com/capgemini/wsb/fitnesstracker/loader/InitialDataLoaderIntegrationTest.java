@@ -0,0 +1,65 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationTest
+@ActiveProfiles("loadInitialData")
+@TestPropertySource(properties = {
+        "loader.users=25",
+        "loader.trainings-per-user=4",
+        "loader.batch-size=7",
+        "loader.activity-mix.running=3",
+        "loader.activity-mix.cycling=1",
+        "loader.activity-mix.walking=0",
+        "loader.from=2024-03-01",
+        "loader.to=2024-03-08"
+})
+class InitialDataLoaderIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private JpaRepository<Statistics, Long> statisticsRepository;
+
+    @Test
+    void shouldLoadConfiguredData_whenStarted() {
+        List<Training> trainings = getAllTrainings();
+        List<Statistics> statistics = statisticsRepository.findAll();
+
+        assertEquals(25, getAllUsers().size());
+        assertEquals(25 * 4, trainings.size());
+        assertEquals(Set.of(ActivityType.RUNNING, ActivityType.CYCLING),
+                trainings.stream().map(Training::getActivityType).collect(Collectors.toSet()));
+        Date from = toDate(LocalDate.of(2024, 3, 1));
+        Date to = toDate(LocalDate.of(2024, 3, 8));
+        assertTrue(trainings.stream().allMatch(training ->
+                !training.getStartTime().before(from) && training.getStartTime().before(to)
+                        && training.getEndTime().after(training.getStartTime())));
+
+        assertEquals(25, statistics.size());
+        assertTrue(statistics.stream().allMatch(userStatistics -> userStatistics.getTotalTrainings() == 4));
+        assertEquals(trainings.stream().mapToDouble(Training::getDistance).sum(),
+                statistics.stream().mapToDouble(Statistics::getTotalDistance).sum(), 1e-6);
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
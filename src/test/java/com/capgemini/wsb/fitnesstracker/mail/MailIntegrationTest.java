@@ -0,0 +1,75 @@
+package com.capgemini.wsb.fitnesstracker.mail;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@IntegrationTest
+@SpringBootTest(properties = {
+        "mail.from=reports@fitnesstracker.com",
+        "mail.host=localhost",
+        "mail.port=3025",
+        "mail.queue.batch-size=10",
+        "mail.queue.initial-backoff=100ms",
+        "mail.queue.max-attempts=20"
+})
+class MailIntegrationTest {
+
+    private final GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @BeforeEach
+    void setUp() {
+        greenMail.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    void shouldDeliverAllQueuedEmails_whenSendingEmails() throws MessagingException {
+        IntStream.range(0, 25).forEach(i -> emailSender.send(email("user%d@domain.com".formatted(i))));
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 25));
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertEquals(25, messages.length);
+        assertEquals("reports@fitnesstracker.com", messages[0].getFrom()[0].toString());
+        assertEquals("Monthly Training Report", messages[0].getSubject());
+    }
+
+    @Test
+    void shouldDeliverEmails_whenMailServerComesBackUp() throws MessagingException, InterruptedException {
+        greenMail.stop();
+
+        emailSender.send(email("late@domain.com"));
+        Thread.sleep(300);
+        greenMail.start();
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 1));
+        assertEquals("late@domain.com", Arrays.stream(greenMail.getReceivedMessages()[0].getAllRecipients())
+                .map(Object::toString).findFirst().orElseThrow());
+    }
+
+    private static EmailDto email(String toAddress) {
+        return new EmailDto(toAddress, "Monthly Training Report", "You have registered 1 workouts this month.");
+    }
+}
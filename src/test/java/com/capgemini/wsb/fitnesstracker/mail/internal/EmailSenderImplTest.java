@@ -0,0 +1,160 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.MailQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailSenderImplTest {
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    private MailProperties mailProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private EmailSenderImpl emailSender;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mailProperties = new MailProperties();
+        mailProperties.setFrom("reports@fitnesstracker.com");
+        mailProperties.getQueue().setCapacity(5);
+        mailProperties.getQueue().setBatchSize(10);
+        mailProperties.getQueue().setOfferTimeout(Duration.ofMillis(10));
+        mailProperties.getQueue().setInitialBackoff(Duration.ofMillis(10));
+        mailProperties.getQueue().setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        emailSender = new EmailSenderImpl(javaMailSender, mailProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailSender.stop();
+    }
+
+    @Test
+    void send_shouldSendQueuedEmailsInOneBatch() {
+        emailSender.send(email("one@domain.com"));
+        emailSender.send(email("two@domain.com"));
+        emailSender.send(email("three@domain.com"));
+
+        emailSender.start();
+
+        ArgumentCaptor<SimpleMailMessage[]> batch = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(javaMailSender).send(batch.capture()));
+        List<SimpleMailMessage> messages = Arrays.asList(batch.getValue());
+        assertEquals(List.of("one@domain.com", "two@domain.com", "three@domain.com"),
+                messages.stream().map(message -> message.getTo()[0]).toList());
+        assertEquals("reports@fitnesstracker.com", messages.get(0).getFrom());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(3, emailCount("sent")));
+    }
+
+    @Test
+    void send_shouldRetryFailedEmails() {
+        doThrow(new MailSendException("Mail server connection failed"))
+                .doNothing()
+                .when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        emailSender.start();
+        emailSender.send(email("one@domain.com"));
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(javaMailSender, times(2)).send(any(SimpleMailMessage[].class)));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(1, emailCount("sent")));
+        assertEquals(1, emailCount("retried"));
+        assertEquals(0, emailCount("failed"));
+    }
+
+    @Test
+    void send_shouldGiveUp_whenMaxAttemptsAreReached() throws InterruptedException {
+        doThrow(new MailSendException("Mail server connection failed"))
+                .when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        emailSender.start();
+        emailSender.send(email("one@domain.com"));
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(javaMailSender, times(3)).send(any(SimpleMailMessage[].class)));
+        Thread.sleep(100);
+        verify(javaMailSender, times(3)).send(any(SimpleMailMessage[].class));
+        assertEquals(2, emailCount("retried"));
+        assertEquals(1, emailCount("failed"));
+        assertEquals(0, emailCount("sent"));
+    }
+
+    @Test
+    void send_shouldKeepAttempt_whenQueueIsFullAtRetry() throws InterruptedException {
+        mailProperties.getQueue().setCapacity(1);
+        mailProperties.getQueue().setInitialBackoff(Duration.ofMillis(500));
+        mailProperties.getQueue().setMaxAttempts(2);
+        emailSender = new EmailSenderImpl(javaMailSender, mailProperties, meterRegistry);
+        CountDownLatch smtpBlocked = new CountDownLatch(1);
+        doThrow(new MailSendException("Mail server connection failed"))
+                .doAnswer(invocation -> {
+                    smtpBlocked.await(10, TimeUnit.SECONDS);
+                    return null;
+                })
+                .doNothing()
+                .when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        emailSender.start();
+        emailSender.send(email("one@domain.com"));
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(javaMailSender, times(1)).send(any(SimpleMailMessage[].class)));
+        try {
+            emailSender.send(email("two@domain.com"));
+            await().atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> verify(javaMailSender, times(2)).send(any(SimpleMailMessage[].class)));
+            emailSender.send(email("three@domain.com"));
+            Thread.sleep(700);
+        } finally {
+            smtpBlocked.countDown();
+        }
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> verify(javaMailSender, times(4)).send(any(SimpleMailMessage[].class)));
+        assertEquals(0, emailCount("failed"));
+    }
+
+    @Test
+    void send_shouldRejectEmail_whenQueueStaysFull() {
+        for (int i = 0; i < mailProperties.getQueue().getCapacity(); i++) {
+            emailSender.send(email("user%d@domain.com".formatted(i)));
+        }
+
+        assertThrows(MailQueueFullException.class, () -> emailSender.send(email("rejected@domain.com")));
+        assertEquals(mailProperties.getQueue().getCapacity(), emailSender.getQueueSize());
+    }
+
+    private double emailCount(String result) {
+        return meterRegistry.get("mail.emails").tag("result", result).counter().count();
+    }
+
+    private static EmailDto email(String toAddress) {
+        return new EmailDto(toAddress, "Monthly Training Report", "You have registered 1 workouts this month.");
+    }
+}
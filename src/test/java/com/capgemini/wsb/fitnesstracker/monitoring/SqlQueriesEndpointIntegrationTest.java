@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.monitoring;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the statements issued by the requests are counted and logged with their bind parameters
+ * when slow, every statement being slow here. The endpoint is only exposed by the {@code ops} profile.
+ */
+@IntegrationTest
+@ActiveProfiles("ops")
+@TestPropertySource(properties = "monitoring.sql.slow-query-threshold=0ms")
+class SqlQueriesEndpointIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReportStatementsOfRequests_whenQueried() throws Exception {
+        User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+        mockMvc.perform(delete("/actuator/sqlqueries")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/trainings/{userId}", user.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/sqlqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests[?(@.uri == '/v1/trainings/{userId}')].meanStatements", hasItem(greaterThanOrEqualTo(1.0))))
+                .andExpect(jsonPath("$.slowestQueries[?(@.request == 'GET /v1/trainings/%d')].sql".formatted(user.getId()),
+                        hasItem(containsString("trainings"))))
+                .andExpect(jsonPath("$.slowestQueries[?(@.request == 'GET /v1/trainings/%d')].parameters[0][0]".formatted(user.getId()),
+                        hasItem(user.getId().toString())));
+
+        mockMvc.perform(delete("/actuator/sqlqueries")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/sqlqueries"))
+                .andExpect(jsonPath("$.slowestQueries", empty()));
+    }
+}
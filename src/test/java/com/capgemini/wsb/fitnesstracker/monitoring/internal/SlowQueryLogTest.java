@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryLogTest {
+
+    @Test
+    void slowest_shouldReturnQueriesSlowestFirst() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(3);
+
+        slowQueryLog.record(query("SELECT 1", 20));
+        slowQueryLog.record(query("SELECT 2", 80));
+        slowQueryLog.record(query("SELECT 3", 50));
+
+        assertEquals(List.of("SELECT 2", "SELECT 3", "SELECT 1"), sqls(slowQueryLog));
+    }
+
+    @Test
+    void record_shouldOverwriteOldestQueries_whenLogIsFull() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+
+        slowQueryLog.record(query("SELECT 1", 90));
+        slowQueryLog.record(query("SELECT 2", 60));
+        slowQueryLog.record(query("SELECT 3", 70));
+
+        assertEquals(List.of("SELECT 3", "SELECT 2"), sqls(slowQueryLog));
+    }
+
+    @Test
+    void clear_shouldRemoveAllQueries() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+        slowQueryLog.record(query("SELECT 1", 90));
+
+        slowQueryLog.clear();
+
+        assertTrue(slowQueryLog.slowest().isEmpty());
+    }
+
+    @Test
+    void shouldRejectEmptyLog() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(0));
+    }
+
+    private static SlowQuery query(String sql, long millis) {
+        return new SlowQuery(Instant.now(), Duration.ofMillis(millis), sql, List.of(List.of("1")), 0, null);
+    }
+
+    private static List<String> sqls(SlowQueryLog slowQueryLog) {
+        return slowQueryLog.slowest().stream().map(SlowQuery::sql).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.report.api.Report;
+import com.capgemini.wsb.fitnesstracker.report.api.ReportStatus;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserIdEmailInfo;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReportServiceImplTest {
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmailSender emailSender;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.setPageSize(2);
+        reportService = new ReportServiceImpl(trainingRepository, userRepository, emailSender, reportRepository, reportProperties, Runnable::run);
+        when(reportRepository.save(any(Report.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findIdEmailAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new UserIdEmailInfo(1L, "one@domain.com"), new UserIdEmailInfo(2L, "two@domain.com")));
+        when(userRepository.findIdEmailAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new UserIdEmailInfo(3L, "three@domain.com")));
+        when(trainingRepository.countByUserIdsAndStartTimeBetween(anyCollection(), any(), any()))
+                .thenReturn(List.of(new UserTrainingCount(1L, 4L), new UserTrainingCount(3L, 1L)));
+    }
+
+    @Test
+    void generateMonthlyReport_shouldSendReportToEveryUserPageByPage() {
+        when(reportRepository.findByYearAndMonth(2024, 5)).thenReturn(Optional.empty());
+
+        reportService.generateMonthlyReport(5, 2024);
+
+        ArgumentCaptor<EmailDto> emails = ArgumentCaptor.forClass(EmailDto.class);
+        verify(emailSender, times(3)).send(emails.capture());
+        assertEquals(List.of("one@domain.com", "two@domain.com", "three@domain.com"),
+                emails.getAllValues().stream().map(EmailDto::toAddress).toList());
+        assertEquals(List.of("You have registered 4 workouts this month.",
+                        "You have registered 0 workouts this month.",
+                        "You have registered 1 workouts this month."),
+                emails.getAllValues().stream().map(EmailDto::content).toList());
+        verify(trainingRepository, times(2)).countByUserIdsAndStartTimeBetween(anyCollection(), any(), any());
+
+        ArgumentCaptor<Report> reports = ArgumentCaptor.forClass(Report.class);
+        verify(reportRepository, atLeastOnce()).save(reports.capture());
+        Report report = reports.getValue();
+        assertEquals(ReportStatus.COMPLETED, report.getStatus());
+        assertEquals(3L, report.getLastProcessedUserId());
+        assertEquals(3L, report.getProcessedUsers());
+        assertEquals(3L, report.getSentEmails());
+    }
+
+    @Test
+    void generateMonthlyReport_shouldResumeAfterLastProcessedUser_whenPreviousGenerationWasInterrupted() {
+        Report interrupted = new Report(2024, 5);
+        interrupted.recordPage(2L, 2, 2, 0);
+        when(reportRepository.findByYearAndMonth(2024, 5)).thenReturn(Optional.of(interrupted));
+
+        reportService.generateMonthlyReport(5, 2024);
+
+        verify(userRepository, never()).findIdEmailAfter(eq(0L), any(Pageable.class));
+        verify(emailSender, times(1)).send(new EmailDto("three@domain.com", "Monthly Training Report", "You have registered 1 workouts this month."));
+        assertEquals(ReportStatus.COMPLETED, interrupted.getStatus());
+        assertEquals(3L, interrupted.getProcessedUsers());
+    }
+
+    @Test
+    void generateMonthlyReport_shouldCountFailedEmailsAndContinue() {
+        when(reportRepository.findByYearAndMonth(2024, 5)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("SMTP unavailable"))
+                .when(emailSender).send(argThat(email -> email.toAddress().equals("two@domain.com")));
+
+        reportService.generateMonthlyReport(5, 2024);
+
+        ArgumentCaptor<Report> reports = ArgumentCaptor.forClass(Report.class);
+        verify(reportRepository, atLeastOnce()).save(reports.capture());
+        Report report = reports.getValue();
+        assertEquals(ReportStatus.COMPLETED, report.getStatus());
+        assertEquals(2L, report.getSentEmails());
+        assertEquals(1L, report.getFailedEmails());
+    }
+}
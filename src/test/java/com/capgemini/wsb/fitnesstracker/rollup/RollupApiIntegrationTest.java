@@ -0,0 +1,175 @@
+package com.capgemini.wsb.fitnesstracker.rollup;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupPeriod;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class RollupApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Test
+    void shouldAggregateTrainingsPerPeriod_whenTrainingsAreCreated() throws Exception {
+        User user = existingUser(generateClient());
+        createTrainings(user);
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/weekly", user.getId()).param("from", "2024-03-01").param("to", "2024-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].periodStart").value("2024-03-04"))
+                .andExpect(jsonPath("$[0].trainings").value(2))
+                .andExpect(jsonPath("$[0].distance").value(30.0))
+                .andExpect(jsonPath("$[0].caloriesBurned").value(1400))
+                .andExpect(jsonPath("$[1].periodStart").value("2024-03-11"))
+                .andExpect(jsonPath("$[1].trainings").value(1))
+                .andExpect(jsonPath("$[1].caloriesBurned").value(140));
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", user.getId()).param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].periodStart").value("2024-03-01"))
+                .andExpect(jsonPath("$[0].trainings").value(3))
+                .andExpect(jsonPath("$[0].distance").value(34.0))
+                .andExpect(jsonPath("$[1].periodStart").value("2024-05-01"))
+                .andExpect(jsonPath("$[1].trainings").value(1));
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/yearly", user.getId()).param("from", "2020-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].periodStart").value("2023-01-01"))
+                .andExpect(jsonPath("$[0].trainings").value(1))
+                .andExpect(jsonPath("$[1].periodStart").value("2024-01-01"))
+                .andExpect(jsonPath("$[1].trainings").value(4))
+                .andExpect(jsonPath("$[1].caloriesBurned").value(1840));
+    }
+
+    @Test
+    void shouldAggregateOnlyGivenActivityType_whenActivityTypeIsGiven() throws Exception {
+        User user = existingUser(generateClient());
+        createTrainings(user);
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", user.getId())
+                        .param("from", "2024-01-01").param("to", "2024-12-31").param("activityType", "RUNNING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].trainings").value(1))
+                .andExpect(jsonPath("$[0].distance").value(10.0))
+                .andExpect(jsonPath("$[1].caloriesBurned").value(300));
+    }
+
+    @Test
+    void shouldMoveTrainingBetweenRollups_whenTrainingIsUpdated() throws Exception {
+        User user = existingUser(generateClient());
+        User otherUser = existingUser(generateClient());
+        Training training = trainingProvider.createTraining(training(user, LocalDateTime.of(2024, 3, 10, 18, 0), ActivityType.CYCLING, 20.0));
+
+        Training update = training(otherUser, LocalDateTime.of(2024, 4, 1, 7, 0), ActivityType.RUNNING, 8.0);
+        update.setId(training.getId());
+        trainingProvider.updateTraining(update);
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", user.getId()).param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", otherUser.getId()).param("from", "2024-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].periodStart").value("2024-04-01"))
+                .andExpect(jsonPath("$[0].trainings").value(1))
+                .andExpect(jsonPath("$[0].caloriesBurned").value(480));
+    }
+
+    @Test
+    void shouldReturnSameAggregates_whenRollupsAreRebuiltFromTrainings() throws Exception {
+        User user = existingUser(generateClient());
+        createTrainings(user);
+        trainingProvider.createTrainings(List.of(
+                training(user, LocalDateTime.of(2024, 3, 4, 19, 0), ActivityType.RUNNING, 3.3),
+                training(user, LocalDateTime.of(2024, 5, 20, 8, 0), ActivityType.WALKING, 2.7)));
+        String incremental = monthlyRollups(user);
+
+        mockMvc.perform(put("/v1/rollups/rebuild"))
+                .andExpect(status().isOk());
+
+        assertEquals(incremental, monthlyRollups(user));
+    }
+
+    @Test
+    void shouldAggregateDefaultWindow_whenWindowIsNotGiven() throws Exception {
+        User user = existingUser(generateClient());
+        trainingProvider.createTraining(training(user, LocalDate.now().atTime(0, 30), ActivityType.RUNNING, 5.0));
+        trainingProvider.createTraining(training(user, LocalDate.now().minusYears(1).atTime(0, 30), ActivityType.RUNNING, 5.0));
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/weekly", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].periodStart").value(RollupPeriod.WEEK.start(LocalDate.now()).toString()));
+        mockMvc.perform(get("/v1/rollups/user/{userId}/yearly", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenUserDoesNotExist() throws Exception {
+        mockMvc.perform(get("/v1/rollups/user/{userId}/weekly", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenWindowEndsBeforeItStarts() throws Exception {
+        User user = existingUser(generateClient());
+
+        mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", user.getId()).param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String monthlyRollups(User user) throws Exception {
+        return mockMvc.perform(get("/v1/rollups/user/{userId}/monthly", user.getId()).param("from", "2023-01-01").param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private void createTrainings(User user) {
+        trainingProvider.createTraining(training(user, LocalDateTime.of(2024, 3, 4, 7, 0), ActivityType.RUNNING, 10.0));
+        trainingProvider.createTraining(training(user, LocalDateTime.of(2024, 3, 10, 18, 0), ActivityType.CYCLING, 20.0));
+        trainingProvider.createTraining(training(user, LocalDateTime.of(2024, 3, 11, 12, 0), ActivityType.WALKING, 4.0));
+        trainingProvider.createTraining(training(user, LocalDateTime.of(2024, 5, 2, 6, 30), ActivityType.RUNNING, 5.0));
+        trainingProvider.createTraining(training(user, LocalDateTime.of(2023, 12, 31, 23, 0), ActivityType.RUNNING, 1.0));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training training(User user, LocalDateTime startTime, ActivityType activityType, double distance) {
+        Date start = Date.from(startTime.atZone(ZoneId.systemDefault()).toInstant());
+        return new Training(user, start, new Date(start.getTime() + 1_800_000), activityType, distance, 10.0);
+    }
+}
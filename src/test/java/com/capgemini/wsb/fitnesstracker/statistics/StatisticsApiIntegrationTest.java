@@ -0,0 +1,256 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.time.LocalDate.now;
+import static org.hamcrest.Matchers.closeTo;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class StatisticsApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Test
+    void shouldKeepStatisticsUpToDate_whenCreatingAndUpdatingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(trainingBody(user1, "RUNNING", 10.0)))
+                .andExpect(status().isCreated());
+        String trainingId = mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(trainingBody(user1, "CYCLING", 5.0)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+),.*$", "$1");
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user1.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(15.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(800));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content(trainingBody(user1, "WALKING", 2.0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(12.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(670));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", trainingId).contentType(MediaType.APPLICATION_JSON).content(trainingBody(user2, "WALKING", 2.0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(10.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(600));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(2.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(70));
+    }
+
+    @Test
+    void shouldCountEveryTraining_whenCreatingTrainingsConcurrently() throws Exception {
+        User user = existingUser(generateClient());
+        int threads = 8;
+        int trainingsPerThread = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < trainingsPerThread; j++) {
+                        trainingProvider.createTraining(new Training(user, new Date(), new Date(), ActivityType.RUNNING, 1.0, 5.0));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(threads * trainingsPerThread))
+                .andExpect(jsonPath("$.totalDistance").value(threads * trainingsPerThread * 1.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(threads * trainingsPerThread * 60));
+    }
+
+    @Test
+    void shouldKeepExactTotals_whenRecomputingStatisticsWhileCreatingTrainings() throws Exception {
+        User user = existingUser(generateClient());
+        int threads = 8;
+        int operationsPerThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                boolean creating = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < operationsPerThread; j++) {
+                        if (creating) {
+                            trainingProvider.createTraining(new Training(user, new Date(), new Date(), ActivityType.RUNNING, 1.0, 5.0));
+                        } else {
+                            statisticsService.updateStatisticsForUser(user.getId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int trainings = threads / 2 * operationsPerThread;
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(trainings))
+                .andExpect(jsonPath("$.totalDistance").value(trainings * 1.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(trainings * 60));
+    }
+
+    @Test
+    void shouldCreateSingleStatistics_whenSavingStatisticsOfUserConcurrently() throws Exception {
+        User user = existingUser(generateClient());
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int totalTrainings = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return statisticsService.saveStatistics(new Statistics(user, totalTrainings, totalTrainings, totalTrainings));
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(statisticsProvider.getAllStatistics())
+                .filteredOn(statistics -> statistics.getUser().getId().equals(user.getId()))
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldRecomputeStatisticsFromAllTrainings_whenUpdatingStatisticsForUser() throws Exception {
+        User user = existingUser(generateClient());
+        List<Training> trainings = new ArrayList<>();
+        for (ActivityType activityType : ActivityType.values()) {
+            trainings.add(persistTraining(new Training(user, new Date(), new Date(), activityType, 3.3, 5.0)));
+        }
+        int expectedCalories = trainings.stream().mapToInt(training -> (int) statisticsService.calculateCaloriesBurned(training)).sum();
+
+        mockMvc.perform(put("/v1/statistics/update/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(ActivityType.values().length))
+                .andExpect(jsonPath("$.totalDistance").value(closeTo(3.3 * ActivityType.values().length, 1e-9)))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(expectedCalories));
+    }
+
+    @Test
+    void shouldRecomputeStatisticsOfAllUsers_whenUpdatingAllStatistics() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        persistTraining(new Training(user1, new Date(), new Date(), ActivityType.RUNNING, 10.5, 5.0));
+        persistTraining(new Training(user1, new Date(), new Date(), ActivityType.TENNIS, 1.0, 5.0));
+        persistTraining(new Training(user2, new Date(), new Date(), ActivityType.WALKING, 2.0, 5.0));
+
+        mockMvc.perform(put("/v1/statistics/update"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(11.5))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(680));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(2.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(70));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user3.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(0))
+                .andExpect(jsonPath("$.totalDistance").value(0.0))
+                .andExpect(jsonPath("$.totalCaloriesBurned").value(0));
+    }
+
+    private static String trainingBody(User user, String activityType, double distance) {
+        return """
+                {
+                "user": {"id": %d},
+                "startTime": "2024-04-01T10:00:00.000+00:00",
+                "endTime": "2024-04-01T11:00:00.000+00:00",
+                "activityType": "%s",
+                "distance": %s,
+                "averageSpeed": 10.0
+                }
+                """.formatted(user.getId(), activityType, distance);
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+}
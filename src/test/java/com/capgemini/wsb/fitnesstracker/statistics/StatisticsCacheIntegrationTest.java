@@ -0,0 +1,141 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the statistics endpoints are served from the application cache,
+ * and that every change of the statistics evicts them.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=metrics")
+class StatisticsCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeStatisticsFromCache_whenGettingStatisticsOfUserTwice() throws Exception {
+        User user = existingUser(generateClient());
+        trainingProvider.createTraining(generateTraining(user, 10.0));
+        double hits = cacheGets("statisticsByUser", "hit");
+        double misses = cacheGets("statisticsByUser", "miss");
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+
+        assertEquals(misses + 1, cacheGets("statisticsByUser", "miss"));
+        assertEquals(hits + 1, cacheGets("statisticsByUser", "hit"));
+    }
+
+    @Test
+    void shouldReturnFreshStatistics_whenStatisticsOfCachedUserChange() throws Exception {
+        User user = existingUser(generateClient());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isNotFound());
+
+        trainingProvider.createTraining(generateTraining(user, 10.0));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+
+        mockMvc.perform(post("/v1/statistics").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"user": {"id": %d}, "totalTrainings": 7, "totalDistance": 70.0, "totalCaloriesBurned": 4200}
+                        """.formatted(user.getId())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(7));
+
+        mockMvc.perform(put("/v1/statistics/update/{userId}", user.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1));
+
+        mockMvc.perform(delete("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(0));
+    }
+
+    @Test
+    void shouldReturnFreshPage_whenStatisticsChangeAfterPageWasCached() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        trainingProvider.createTraining(generateTraining(user1, 10.0));
+        mockMvc.perform(get("/v1/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/v1/statistics").param("page", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        trainingProvider.createTraining(generateTraining(user2, 5.0));
+
+        mockMvc.perform(get("/v1/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/v1/statistics").param("page", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void shouldExposeCacheMetrics_whenRequestingActuatorMetrics() throws Exception {
+        User user = existingUser(generateClient());
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()));
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()));
+
+        mockMvc.perform(get("/actuator/metrics/cache.hit.ratio").param("tag", "cache:statisticsByUser"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:statisticsPages"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.load.duration").param("tag", "cache:statisticsByUser"))
+                .andExpect(status().isOk());
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    private static Training generateTraining(User user, double distance) {
+        Date startTime = new Date();
+        return new Training(user, startTime, new Date(startTime.getTime() + 3_600_000), ActivityType.RUNNING, distance, 10.0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the statements sent to the database to write statistics, by type, a JDBC batch counting as one,
+ * so that the statistics are written with upserts and batches instead of being read, changed and saved.
+ */
+@IntegrationTest
+class StatisticsStatementCountIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 20;
+    private static final int TRAININGS_PER_USER = 5;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUpUsers() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString())));
+        }
+    }
+
+    @Test
+    void shouldUpsertStatistics_whenSavingStatistics() {
+        trainingProvider.createTrainings(trainings());
+
+        Map<String, Long> statements = countStatements(() -> statisticsService.saveStatistics(new Statistics(users.get(0), 1, 2.0, 3)));
+
+        assertEquals(1, statements.get("merge"));
+        assertEquals(0, statements.get("update") + statements.get("insert"));
+    }
+
+    @Test
+    void shouldRecomputeStatisticsWithSingleStatement_whenUpdatingStatisticsForUser() {
+        trainingProvider.createTrainings(trainings());
+
+        Map<String, Long> statements = countStatements(() -> statisticsService.updateStatisticsForUser(users.get(0).getId()));
+
+        assertEquals(1, statements.get("merge"));
+        assertEquals(1, statements.get("select"));
+        assertEquals(0, statements.get("update") + statements.get("insert"));
+    }
+
+    @Test
+    void shouldUpdateStatisticsOfAllUsersInBatch_whenCreatingTrainingsInBulk() {
+        trainingProvider.createTrainings(trainings());
+
+        Map<String, Long> statements = countStatements(() -> trainingProvider.createTrainings(trainings()));
+
+        assertEquals(1, statements.get("update"));
+    }
+
+    @Test
+    void shouldCreateStatisticsOfAllUsersWithSingleStatement_whenCreatingFirstTrainingsInBulk() {
+        Map<String, Long> statements = countStatements(() -> trainingProvider.createTrainings(trainings()));
+
+        assertEquals(1, statements.get("update"));
+        // The rollups and the statistics
+        assertEquals(2, statements.get("merge"));
+        for (User user : users) {
+            assertEquals(TRAININGS_PER_USER, statisticsProvider.getStatisticsById(user.getId()).orElseThrow().getTotalTrainings());
+        }
+    }
+
+    private List<Training> trainings() {
+        List<Training> trainings = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < TRAININGS_PER_USER; i++) {
+                trainings.add(new Training(user, new Date(), new Date(), ActivityType.RUNNING, 1.0, 5.0));
+            }
+        }
+        return trainings;
+    }
+
+    private Map<String, Long> countStatements(Runnable action) {
+        Map<String, Long> before = statementCounts();
+        action.run();
+        Map<String, Long> statements = statementCounts();
+        statements.replaceAll((type, count) -> count - before.get(type));
+        return statements;
+    }
+
+    private Map<String, Long> statementCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Timer timer : meterRegistry.find("sql.statements").timers()) {
+            counts.put(timer.getId().getTag("type"), timer.count());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,27 @@
+package com.capgemini.wsb.fitnesstracker.threading.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VirtualThreadsCheckTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsCheck.class);
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldFailStartup_whenVirtualThreadsAreEnabledBeforeJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void shouldStart_whenVirtualThreadsAreDisabled() {
+        contextRunner.run(context -> assertNull(context.getStartupFailure()));
+    }
+}
@@ -2,9 +2,11 @@ package com.capgemini.wsb.fitnesstracker.training;
 
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -17,8 +19,11 @@ import java.text.SimpleDateFormat;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +60,59 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1]").doesNotExist());
     }
 
+    @Test
+    void shouldReturnTrainingsPageByPage_whenGettingAllTrainingsWithLimit() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTraining(user1));
+        Training training2 = persistTraining(generateTraining(user1));
+        Training training3 = persistTraining(generateTraining(user1));
+
+        String cursor = mockMvc.perform(get("/v1/trainings").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(training1.getId()))
+                .andExpect(jsonPath("$[1].id").value(training2.getId()))
+                .andExpect(jsonPath("$[2]").doesNotExist())
+                .andExpect(header().exists(Pagination.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(Pagination.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/v1/trainings").param("limit", "2").param("cursor", cursor).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(training3.getId()))
+                .andExpect(jsonPath("$[1]").doesNotExist())
+                .andExpect(header().doesNotExist(Pagination.NEXT_CURSOR_HEADER));
+
+        mockMvc.perform(get("/v1/trainings").param("page", "1").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(training3.getId()))
+                .andExpect(header().string(Pagination.TOTAL_COUNT_HEADER, "3"));
+    }
+
+    @Test
+    void shouldStreamAllTrainingsAsNdjson_whenExportingTrainings() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTraining(user1));
+        Training training2 = persistTraining(generateTrainingWithActivityType(user2, ActivityType.TENNIS));
+
+        String body = mockMvc.perform(get("/v1/trainings/export"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(training1.getId().intValue(), JsonPath.<Integer>read(lines[0], "$.id"));
+        assertEquals(user1.getEmail(), JsonPath.read(lines[0], "$.user.email"));
+        assertEquals(training2.getId().intValue(), JsonPath.<Integer>read(lines[1], "$.id"));
+        assertEquals(ActivityType.TENNIS.toString(), JsonPath.read(lines[1], "$.activityType"));
+    }
+
     @Test
     void shouldReturnAllTrainingsForDedicatedUser_whenGettingAllTrainingsForDedicatedUser() throws Exception {
 
@@ -161,6 +219,111 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    void shouldPersistAllTrainings_whenCreatingTrainingsInBatch() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        String requestBody = "[%s,%s,%s]".formatted(
+                trainingJson(user1.getId(), "RUNNING", 10.5),
+                trainingJson(user2.getId(), "CYCLING", 25.0),
+                trainingJson(user1.getId(), "WALKING", 3.5));
+        mockMvc.perform(post("/v1/trainings/batch").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].id").isNotEmpty())
+                .andExpect(jsonPath("$[0].user.id").value(user1.getId()))
+                .andExpect(jsonPath("$[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$[1].user.id").value(user2.getId()))
+                .andExpect(jsonPath("$[1].distance").value(25.0))
+                .andExpect(jsonPath("$[2].user.id").value(user1.getId()))
+                .andExpect(jsonPath("$[2].activityType").value("WALKING"));
+
+        assertEquals(3, getAllTrainings().size());
+    }
+
+    @Test
+    void shouldCreateNoTraining_whenCreatingTrainingsInBatchForUnknownUser() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = "[%s,%s]".formatted(
+                trainingJson(user1.getId(), "RUNNING", 10.5),
+                trainingJson(user1.getId() + 1000, "CYCLING", 25.0));
+        mockMvc.perform(post("/v1/trainings/batch").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, getAllTrainings().size());
+    }
+
+    @Test
+    void shouldCreateNoTraining_whenCreatingTrainingsInBatchWithInvalidTraining() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = "[%s,%s]".formatted(
+                trainingJson(user1.getId(), "RUNNING", 10.5),
+                trainingJson(user1.getId(), "CYCLING", -1.0));
+        mockMvc.perform(post("/v1/trainings/batch").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, getAllTrainings().size());
+    }
+
+    @Test
+    void shouldReportOutcomeOfEveryTraining_whenIngestingJsonArray() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = "[%s,%s,%s,%s]".formatted(
+                trainingJson(user1.getId(), "RUNNING", 10.5),
+                trainingJson(user1.getId() + 1000, "CYCLING", 25.0),
+                trainingJson(user1.getId(), "SKIING", 3.5),
+                trainingJson(user1.getId(), "WALKING", -1.0));
+        String body = mockMvc.perform(post("/v1/trainings/ingest").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("CREATED", JsonPath.read(lines[0], "$.status"));
+        assertEquals(getAllTrainings().get(0).getId().intValue(), (int) JsonPath.read(lines[0], "$.id"));
+        assertEquals("REJECTED", JsonPath.read(lines[1], "$.status"));
+        assertEquals("User with ID=%s was not found".formatted(user1.getId() + 1000), JsonPath.read(lines[1], "$.error"));
+        assertEquals("REJECTED", JsonPath.read(lines[2], "$.status"));
+        assertEquals(2, (int) JsonPath.read(lines[2], "$.index"));
+        assertEquals("REJECTED", JsonPath.read(lines[3], "$.status"));
+        assertEquals(1, getAllTrainings().size());
+    }
+
+    @Test
+    void shouldCreateTrainingsReadBeforeMalformedJson_whenIngestingNdjson() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = trainingJson(user1.getId(), "RUNNING", 10.5).replace("\n", "") + "\n"
+                + trainingJson(user1.getId(), "CYCLING", 25.0).replace("\n", "") + "\n"
+                + "{\"user\": {\"id\": ";
+        String body = mockMvc.perform(post("/v1/trainings/ingest").contentType(MediaType.APPLICATION_NDJSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("CREATED", JsonPath.read(lines[0], "$.status"));
+        assertEquals("CREATED", JsonPath.read(lines[1], "$.status"));
+        assertEquals("REJECTED", JsonPath.read(lines[2], "$.status"));
+        assertEquals(2, (int) JsonPath.read(lines[2], "$.index"));
+        assertEquals(2, getAllTrainings().size());
+    }
+
     @Test
     void shouldUpdateTraining_whenUpdatingTraining() throws Exception {
 
@@ -198,6 +361,19 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
         return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
     }
 
+    private static String trainingJson(Long userId, String activityType, double distance) {
+        return """
+                {
+                    "user": {"id": "%s"},
+                    "startTime": "2024-04-01T11:00:00.000+00:00",
+                    "endTime": "2024-04-01T12:00:00.000+00:00",
+                    "activityType": "%s",
+                    "distance": %s,
+                    "averageSpeed": 8.2
+                }
+                """.formatted(userId, activityType, distance);
+    }
+
     private static Training generateTraining(User user) throws ParseException {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
@@ -0,0 +1,111 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the queries of the hot training lookups are planned by H2 on the indexes of the trainings table,
+ * by explaining the statements Hibernate actually generates.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.capgemini.wsb.fitnesstracker.training.TrainingIndexIntegrationTest$CapturingStatementInspector")
+class TrainingIndexIntegrationTest extends IntegrationTestBase {
+
+    private static final Date FROM = Timestamp.valueOf("2024-01-01 00:00:00");
+    private static final Date TO = Timestamp.valueOf("2024-02-01 00:00:00");
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * H2 backs the foreign key on {@code user_id} with its own single-column index, which it prefers for lookups
+     * on the user only; both indexes seek on the user, so either of them is accepted here.
+     */
+    @Test
+    void shouldUseUserIndex_whenFindingTrainingsByUser() {
+        assertPlan("an index seek on USER_ID", plan -> plan.contains("USER_ID = ?1 */") && !plan.contains("tableScan"),
+                () -> trainingRepository.findByUserId(1L), 1L);
+        assertPlan("an index seek on USER_ID", plan -> plan.contains("USER_ID = ?1 */") && !plan.contains("tableScan"),
+                () -> trainingRepository.findDtosByUserId(1L), 1L);
+    }
+
+    @Test
+    void shouldUseUserStartTimeIndex_whenCountingTrainingsOfUserInMonth() {
+        assertUsesIndex("IDX_TRAININGS_USER_START_TIME", () -> trainingRepository.countByUserIdAndMonth(1L, FROM, TO), 1L, FROM, TO);
+        assertUsesIndex("IDX_TRAININGS_USER_START_TIME",
+                () -> trainingRepository.countByUserIdsAndStartTimeBetween(List.of(1L), FROM, TO), 1L, FROM, TO);
+    }
+
+    @Test
+    void shouldUseEndTimeIndex_whenFindingTrainingsEndedAfterDate() {
+        assertUsesIndex("IDX_TRAININGS_END_TIME", () -> trainingRepository.findByEndTimeAfter(FROM), FROM);
+        assertUsesIndex("IDX_TRAININGS_END_TIME", () -> trainingRepository.findDtosByEndTimeAfter(FROM), FROM);
+    }
+
+    @Test
+    void shouldUseActivityTypeStartTimeIndex_whenFindingTrainingsByActivityType() {
+        int running = ActivityType.RUNNING.ordinal();
+        assertUsesIndex("IDX_TRAININGS_ACTIVITY_TYPE_START_TIME", () -> trainingRepository.findByActivityType(ActivityType.RUNNING), running);
+        assertUsesIndex("IDX_TRAININGS_ACTIVITY_TYPE_START_TIME", () -> trainingRepository.findDtosByActivityType(ActivityType.RUNNING), running);
+    }
+
+    /**
+     * Runs the query, then explains the statement it issued on the trainings table with the given parameters,
+     * and checks that the trainings are read through the given index.
+     */
+    private void assertUsesIndex(String index, Runnable query, Object... parameters) {
+        assertPlan(index, plan -> plan.contains("PUBLIC." + index + ":"), query, parameters);
+    }
+
+    /**
+     * Runs the query, then explains the statement it issued on the trainings table with the given parameters,
+     * and checks the plan with the given condition.
+     */
+    private void assertPlan(String expected, Predicate<String> condition, Runnable query, Object... parameters) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        query.run();
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("trainings"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+        assertTrue(condition.test(plan), () -> "Expected the plan to use " + expected + ":\n" + plan);
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
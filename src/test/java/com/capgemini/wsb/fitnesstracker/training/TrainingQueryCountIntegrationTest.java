@@ -0,0 +1,104 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that listing trainings reads the trainings together with their users,
+ * instead of issuing one additional select per user.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TrainingQueryCountIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 3;
+    private static final int TRAININGS_PER_USER = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpTrainings() {
+        for (int i = 0; i < USERS; i++) {
+            User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString()));
+            for (int j = 0; j < TRAININGS_PER_USER; j++) {
+                persistTraining(generateTraining(user, ActivityType.values()[j]));
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldIssueSingleStatement_whenGettingAllTrainings() throws Exception {
+        mockMvc.perform(get("/v1/trainings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS * TRAININGS_PER_USER));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldIssueSingleStatement_whenGettingTrainingsByUser() throws Exception {
+        Long userId = getAllUsers().get(0).getId();
+        statistics.clear();
+
+        mockMvc.perform(get("/v1/trainings/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TRAININGS_PER_USER))
+                .andExpect(jsonPath("$[0].user.id").value(userId));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldIssueSingleStatement_whenGettingTrainingsByActivityType() throws Exception {
+        mockMvc.perform(get("/v1/trainings/activityType").param("activityType", ActivityType.values()[0].name()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldIssueSingleStatement_whenGettingFinishedTrainings() throws Exception {
+        mockMvc.perform(get("/v1/trainings/finished/{afterTime}", "2000-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS * TRAININGS_PER_USER));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static Training generateTraining(User user, ActivityType activityType) {
+        Date startTime = new Date();
+        return new Training(user, startTime, new Date(startTime.getTime() + TimeUnit.HOURS.toMillis(1)), activityType, 5.0, 10.0);
+    }
+}
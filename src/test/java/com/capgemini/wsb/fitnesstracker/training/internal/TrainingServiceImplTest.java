@@ -0,0 +1,118 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupChange;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TrainingServiceImplTest {
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private TrainingMetrics trainingMetrics;
+
+    @InjectMocks
+    private TrainingServiceImpl trainingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(statisticsService.calculateCaloriesBurned(any(Training.class)))
+                .thenAnswer(invocation -> invocation.<Training>getArgument(0).getDistance() * 10);
+        when(trainingRepository.save(any(Training.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createTraining_shouldAddTrainingToStatistics() {
+        Training training = training(user(1L), 5.5);
+
+        trainingService.createTraining(training);
+
+        verify(trainingRepository).save(training);
+        verify(statisticsService).addToStatistics(1L, 1, 5.5, 55);
+        verify(rollupService).addToRollups(List.of(new RollupChange(1L, LocalDate.now(), ActivityType.RUNNING, 1, 5.5, 55)));
+        verify(trainingMetrics).recordIngested(List.of(training));
+    }
+
+    @Test
+    void updateTraining_shouldAddDifferenceToStatistics_whenUserIsUnchanged() {
+        User user = user(1L);
+        Training existing = training(user, 10.0);
+        existing.setId(7L);
+        Training update = training(user, 12.5);
+        update.setId(7L);
+        when(trainingRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+        Training updated = trainingService.updateTraining(update);
+
+        assertSame(existing, updated);
+        assertEquals(12.5, updated.getDistance());
+        verify(statisticsService).addToStatistics(1L, 0, 2.5, 25);
+        verify(statisticsService, times(1)).addToStatistics(anyLong(), anyInt(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void updateTraining_shouldMoveTrainingBetweenStatistics_whenUserIsChanged() {
+        Training existing = training(user(1L), 10.0);
+        existing.setId(7L);
+        Training update = training(user(2L), 4.0);
+        update.setId(7L);
+        when(trainingRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+        trainingService.updateTraining(update);
+
+        verify(statisticsService).addToStatistics(1L, -1, -10.0, -100);
+        verify(statisticsService).addToStatistics(2L, 1, 4.0, 40);
+        verify(rollupService).addToRollups(List.of(
+                new RollupChange(1L, LocalDate.now(), ActivityType.RUNNING, -1, -10.0, -100),
+                new RollupChange(2L, LocalDate.now(), ActivityType.RUNNING, 1, 4.0, 40)));
+    }
+
+    @Test
+    void updateTraining_shouldThrowException_whenTrainingNotFound() {
+        Training update = training(user(1L), 4.0);
+        update.setId(7L);
+        when(trainingRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(TrainingNotFoundException.class, () -> trainingService.updateTraining(update));
+        verify(trainingRepository, never()).save(any());
+        verifyNoMoreInteractions(statisticsService, rollupService);
+    }
+
+    private static User user(Long id) {
+        User user = new User("John", "Doe", LocalDate.of(2000, 1, 1), "john%d@example.com".formatted(id));
+        user.setId(id);
+        return user;
+    }
+
+    private static Training training(User user, double distance) {
+        return new Training(user, new Date(), new Date(), ActivityType.RUNNING, distance, 8.0);
+    }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +31,9 @@ class UserApiIntegrationTest extends IntegrationTestBase {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserServiceImpl userService;
+
     @Test
     void shouldReturnAllUsers_whenGettingAllUsers() throws Exception {
         User user1 = existingUser(generateUser());
@@ -95,6 +99,17 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].email").value(user1.getEmail()));
     }
 
+    @Test
+    void shouldReturnDetailsAboutUser_whenGettingUserByEmailWithDifferentCase() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        mockMvc.perform(get("/v1/users/email/{email}", user1.getEmail().toUpperCase()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user1.getId().intValue()))
+                .andExpect(jsonPath("$.email").value(user1.getEmail()));
+    }
+
     @Test
     void shouldReturnAllUsersOlderThan_whenGettingAllUsersOlderThan() throws Exception {
         User user1 = existingUser(generateUserWithDate(LocalDate.of(2000, 8, 11)));
@@ -108,10 +123,74 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].firstName").value(user1.getFirstName()))
                 .andExpect(jsonPath("$[0].lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$[0].birthdate").value(ISO_DATE.format(user1.getBirthdate())))
-
+                .andExpect(header().string("X-Total-Count", "1"))
                 .andExpect(jsonPath("$[1]").doesNotExist());
     }
 
+    @Test
+    void shouldReturnRankedMatches_whenSearchingUsersByNameSurname() throws Exception {
+        User user1 = userService.createUser(new User("Annabel", "Smith", LocalDate.of(1990, 1, 1), "annabel.smith@domain.com"));
+        User user2 = userService.createUser(new User("Anna", "Smithson", LocalDate.of(1990, 1, 1), "anna.smithson@domain.com"));
+        userService.createUser(new User("Anna", "Jones", LocalDate.of(1990, 1, 1), "anna.jones@domain.com"));
+
+        mockMvc.perform(get("/v1/users/search").param("firstName", "ANN").param("lastName", "smith")
+                        .param("page", "0").param("size", "1").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId().intValue()));
+
+        mockMvc.perform(get("/v1/users/namesurname/{firstName}&{lastName}", "anna", "smiths").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user2.getId().intValue()));
+    }
+
+    @Test
+    void shouldReturnPageOfUsersBornBetween_whenGettingUsersBornBetween() throws Exception {
+        existingUser(generateUserWithDate(LocalDate.of(1989, 12, 31)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1995, 6, 1)));
+        User user3 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        existingUser(generateUserWithDate(LocalDate.of(2000, 1, 2)));
+
+        mockMvc.perform(get("/v1/users/born").param("from", "1990-01-01").param("to", "2000-01-01")
+                        .param("size", "1").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(user3.getId().intValue()));
+
+        mockMvc.perform(get("/v1/users/born").param("from", "1990-01-01").param("to", "2000-01-01")
+                        .param("page", "1").param("size", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(user2.getId().intValue()));
+    }
+
+    @Test
+    void shouldReturnUsersWithinAgeBucket_whenGettingUsersAgedBetween() throws Exception {
+        LocalDate today = LocalDate.now();
+        existingUser(generateUserWithDate(today.minusYears(20).plusDays(1)));
+        User user2 = existingUser(generateUserWithDate(today.minusYears(20)));
+        User user3 = existingUser(generateUserWithDate(today.minusYears(30).plusDays(1)));
+        existingUser(generateUserWithDate(today.minusYears(30)));
+
+        mockMvc.perform(get("/v1/users/age").param("minAge", "20").param("maxAge", "29").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[0].id").value(user3.getId().intValue()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId().intValue()));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenGettingUsersAgedBetweenInvalidRange() throws Exception {
+        mockMvc.perform(get("/v1/users/age").param("minAge", "30").param("maxAge", "20").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldRemoveUserFromRepository_whenDeletingClient() throws Exception {
         User user1 = existingUser(generateUser());
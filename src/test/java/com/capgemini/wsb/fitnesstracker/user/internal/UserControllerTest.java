@@ -1,11 +1,17 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -46,16 +52,47 @@ class UserControllerTest {
 
     @Test
     void shouldReturnAllUsers() throws Exception {
-        when(userService.findAllUsers()).thenReturn(List.of(user));
+        when(userService.findUsersAfter(0L, Pagination.DEFAULT_PAGE_SIZE)).thenReturn(new SliceImpl<>(List.of(user)));
         when(userMapper.toDto(user)).thenReturn(userDto);
 
         mockMvc.perform(get("/v1/users"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(Pagination.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].firstName").value(userDto.firstName()))
                 .andExpect(jsonPath("$[0].lastName").value(userDto.lastName()));
     }
 
+    @Test
+    void shouldReturnNextCursor_whenMoreUsersExist() throws Exception {
+        user.setId(7L);
+        when(userService.findUsersAfter(5L, 1)).thenReturn(new SliceImpl<>(List.of(user), PageRequest.of(0, 1), true));
+        when(userMapper.toDto(user)).thenReturn(userDto);
+
+        mockMvc.perform(get("/v1/users").param("cursor", Pagination.encodeCursor(5L)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Pagination.NEXT_CURSOR_HEADER, Pagination.encodeCursor(7L)))
+                .andExpect(jsonPath("$[0].firstName").value(userDto.firstName()));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/v1/users").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnPageWithTotalCount_whenPagingByOffset() throws Exception {
+        Pageable pageable = PageRequest.of(2, 10, Sort.by("id"));
+        when(userService.findAllUsers(pageable)).thenReturn(new PageImpl<>(List.of(user), pageable, 21));
+        when(userMapper.toDto(user)).thenReturn(userDto);
+
+        mockMvc.perform(get("/v1/users").param("page", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Pagination.TOTAL_COUNT_HEADER, "21"))
+                .andExpect(jsonPath("$[0].firstName").value(userDto.firstName()));
+    }
+
     @Test
     void shouldReturnUserById() throws Exception {
         when(userService.getUser(1L)).thenReturn(Optional.of(user));
@@ -106,12 +143,13 @@ class UserControllerTest {
 
     @Test
     void shouldReturnUsersOlderThan() throws Exception {
-        when(userService.findUsersOlderThan(any(LocalDate.class))).thenReturn(List.of(user));
-        when(userMapper.toDto(user)).thenReturn(userDto);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
+        when(userService.findUsersOlderThan(LocalDate.of(2024, 8, 10), pageable)).thenReturn(new PageImpl<>(List.of(user), pageable, 1));
 
         mockMvc.perform(get("/v1/users/older/{date}", LocalDate.of(2024, 8, 10)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].firstName").value(userDto.firstName()));
+                .andExpect(header().string(Pagination.TOTAL_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$[0].firstName").value(user.getFirstName()));
     }
 
     @Test
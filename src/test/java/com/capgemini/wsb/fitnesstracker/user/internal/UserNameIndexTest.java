@@ -0,0 +1,93 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class UserNameIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserNameIndex userNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userNameIndex = new UserNameIndex(userRepository);
+    }
+
+    @Test
+    void rebuild_shouldIndexAllUsersFromRepository() {
+        when(userRepository.findBaseInfoAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(new UserBaseInfo(1L, "Emma", "Johnson"), new UserBaseInfo(2L, "Ethan", "Taylor")));
+
+        userNameIndex.rebuild();
+
+        assertEquals(List.of(2L), userNameIndex.search("eth", "tay"));
+    }
+
+    @Test
+    void search_shouldMatchSubstringsCaseInsensitively() {
+        userNameIndex.index(user(1L, "Emma", "Johnson"));
+        userNameIndex.index(user(2L, "Emmanuel", "Johnston"));
+        userNameIndex.index(user(3L, "Olivia", "Davis"));
+
+        assertEquals(List.of(1L, 2L), userNameIndex.search("EMM", "john"));
+        assertEquals(List.of(3L), userNameIndex.search("liv", "av"));
+    }
+
+    @Test
+    void search_shouldRankExactMatchesBeforePrefixAndSubstringMatches() {
+        userNameIndex.index(user(1L, "Annabel", "Smith"));
+        userNameIndex.index(user(2L, "Joanna", "Smith"));
+        userNameIndex.index(user(3L, "Anna", "Smith"));
+
+        assertEquals(List.of(3L, 1L, 2L), userNameIndex.search("anna", "smith"));
+    }
+
+    @Test
+    void search_shouldReturnNothing_whenNoUserMatches() {
+        userNameIndex.index(user(1L, "Emma", "Johnson"));
+
+        assertTrue(userNameIndex.search("emma", "taylor").isEmpty());
+        assertTrue(userNameIndex.search("xyz", "j").isEmpty());
+    }
+
+    @Test
+    void index_shouldReplacePreviouslyIndexedNames() {
+        userNameIndex.index(user(1L, "Emma", "Johnson"));
+        userNameIndex.index(user(1L, "Emma", "Taylor"));
+
+        assertTrue(userNameIndex.search("emma", "johnson").isEmpty());
+        assertEquals(List.of(1L), userNameIndex.search("emma", "taylor"));
+    }
+
+    @Test
+    void remove_shouldDropUserFromIndex() {
+        userNameIndex.index(user(1L, "Emma", "Johnson"));
+        userNameIndex.index(user(2L, "Emma", "Jones"));
+
+        userNameIndex.remove(1L);
+
+        assertEquals(List.of(2L), userNameIndex.search("em", "jo"));
+    }
+
+    private static User user(Long id, String firstName, String lastName) {
+        User user = new User(firstName, lastName, LocalDate.of(2000, 1, 1), "%s.%s@domain.com".formatted(firstName, lastName));
+        user.setId(id);
+        return user;
+    }
+}
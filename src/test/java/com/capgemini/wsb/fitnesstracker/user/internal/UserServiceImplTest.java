@@ -1,5 +1,6 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.InvalidAgeRangeException;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -25,6 +30,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserNameIndex userNameIndex;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -90,6 +98,7 @@ class UserServiceImplTest {
         userService.deleteUserById(1L);
 
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userNameIndex, times(1)).remove(1L);
     }
 
     @Test
@@ -120,13 +129,8 @@ class UserServiceImplTest {
     @Test
     void findUsersOlderThan_shouldReturnUsersOlderThanDate() {
         User user1 = new User("John", "Doe", LocalDate.of(1999, 1, 1), "john.doe@example.com");
-        User user2 = new User("Jane", "Doe", LocalDate.of(2002, 2, 2), "jane.doe@example.com");
-
-        List<User> userList = new ArrayList<>();
-        userList.add(user1);
-        userList.add(user2);
 
-        when(userRepository.findAll()).thenReturn(userList);
+        when(userRepository.findByBirthdateBeforeOrderById(LocalDate.of(2000, 1, 1))).thenReturn(List.of(user1));
 
         List<User> result = userService.findUsersOlderThan(LocalDate.of(2000, 1, 1));
 
@@ -134,6 +138,53 @@ class UserServiceImplTest {
         assertEquals("John", result.get(0).getFirstName());
     }
 
+    @Test
+    void getUserByNameSurname_shouldReturnBestMatchFromIndex() {
+        User user = new User("John", "Doe", LocalDate.of(2000, 1, 1), "john.doe@example.com");
+
+        when(userNameIndex.search("jo", "do")).thenReturn(List.of(2L, 1L));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+
+        Optional<User> result = userService.getUserByNameSurname("jo", "do");
+
+        assertTrue(result.isPresent());
+        verify(userRepository, never()).findById(1L);
+    }
+
+    @Test
+    void searchUsersByNameSurname_shouldLoadOnlyRequestedPageInRankedOrder() {
+        User user2 = new User("Johnny", "Doe", LocalDate.of(2000, 1, 1), "johnny.doe@example.com");
+        user2.setId(2L);
+        User user3 = new User("Jon", "Doerr", LocalDate.of(2000, 1, 1), "jon.doerr@example.com");
+        user3.setId(3L);
+
+        when(userNameIndex.search("jo", "do")).thenReturn(List.of(5L, 4L, 3L, 2L));
+        when(userRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(user2, user3));
+
+        Page<User> result = userService.searchUsersByNameSurname("jo", "do", PageRequest.of(1, 2));
+
+        assertEquals(4, result.getTotalElements());
+        assertEquals(List.of(user3, user2), result.getContent());
+    }
+
+    @Test
+    void findUsersAgedBetween_shouldQueryMatchingBirthdateRange() {
+        LocalDate today = LocalDate.now();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userRepository.findByBirthdateBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        userService.findUsersAgedBetween(20, 29, pageable);
+
+        verify(userRepository, times(1)).findByBirthdateBetween(
+                today.minusYears(30).plusDays(1), today.minusYears(20), PageRequest.of(0, 10, Sort.by("birthdate", "id")));
+    }
+
+    @Test
+    void findUsersAgedBetween_shouldRejectInvalidRange() {
+        assertThrows(InvalidAgeRangeException.class, () -> userService.findUsersAgedBetween(30, 20, PageRequest.of(0, 10)));
+        verify(userRepository, never()).findByBirthdateBetween(any(), any(), any());
+    }
+
     @Test
     void getUserByEmail_shouldReturnUserIfExists() {
         User user = new User("John", "Doe", LocalDate.of(2000, 1, 1), "john.doe@example.com");
@@ -146,6 +197,18 @@ class UserServiceImplTest {
         assertEquals("John", result.get().getFirstName());
     }
 
+    @Test
+    void getUserByEmail_shouldNormalizeEmailBeforeLookup() {
+        User user = new User("John", "Doe", LocalDate.of(2000, 1, 1), "john.doe@example.com");
+
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+        Optional<User> result = userService.getUserByEmail("  John.Doe@Example.COM ");
+
+        assertTrue(result.isPresent());
+        verify(userRepository, times(1)).findByEmail("john.doe@example.com");
+    }
+
     @Test
     void getUserByEmail_shouldReturnEmptyOptionalIfUserNotExists() {
         when(userRepository.findByEmail("non.existent@example.com")).thenReturn(Optional.empty());